@@ -0,0 +1,46 @@
+package com.securitydemo.civicflowbackend.configs;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Locale;
+import java.util.Set;
+
+/*
+Schema is owned by the migrations in db/migration, hibernate may only validate it
+(spring.jpa.hibernate.ddl-auto=validate or none). Anything else fails at startup,
+create/update would fight the migrations and drop the sequences they set up.
+
+Databases that were created by hibernate before migrations existed have tables but
+no flyway history: they get baselined at V1, V1_1 converts their IDENTITY ids to
+sequences and then the later scripts run.
+*/
+@Configuration
+public class FlywayConfig {
+
+    private static final Set<String> ALLOWED_SCHEMA_ACTIONS = Set.of("none", "validate");
+
+    @Bean
+    public FlywayConfigurationCustomizer baselineExistingSchema() {
+        return configuration -> configuration
+                .baselineOnMigrate(true)
+                .baselineVersion("1");
+    }
+
+    // Boot has already resolved ddl-auto into these properties when customizers run
+    @Bean
+    public HibernatePropertiesCustomizer schemaOnlyValidatedByHibernate() {
+        return properties -> {
+            for (String setting : new String[]{AvailableSettings.HBM2DDL_AUTO, AvailableSettings.JAKARTA_HBM2DDL_DATABASE_ACTION}) {
+                Object action = properties.get(setting);
+                if (action != null && !ALLOWED_SCHEMA_ACTIONS.contains(action.toString().trim().toLowerCase(Locale.ROOT))) {
+                    throw new IllegalStateException(setting + "=" + action
+                            + " conflicts with the flyway managed schema, use validate or none");
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.securitydemo.civicflowbackend.configs;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaBatchingConfig {
+
+    // how many inserts/updates hibernate groups into one JDBC batch
+    @Value("${app.jpa.batch-size:50}")
+    private int batchSize;
+
+    // pooled-lo: the sequence value is the first id of the block, other writers calling
+    // NEXTVAL can't collide with ids hibernate already holds in memory
+    @Value("${app.jpa.id-optimizer:pooled-lo}")
+    private String idOptimizer;
+
+    // putIfAbsent so anything set under spring.jpa.properties still wins
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer() {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+            properties.putIfAbsent(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, idOptimizer);
+        };
+    }
+}
@@ -0,0 +1,73 @@
+package com.securitydemo.civicflowbackend.configs;
+
+import com.securitydemo.civicflowbackend.dtos.AuthRequest;
+import com.securitydemo.civicflowbackend.dtos.AuthResponse;
+import com.securitydemo.civicflowbackend.dtos.ImportReport;
+import com.securitydemo.civicflowbackend.dtos.OutboxStats;
+import com.securitydemo.civicflowbackend.dtos.RegisterRequest;
+import com.securitydemo.civicflowbackend.entities.ArchivedIssue;
+import com.securitydemo.civicflowbackend.entities.Issue;
+import com.securitydemo.civicflowbackend.entities.User;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.data.web.PagedModel;
+
+/*
+Reflection hints for the AOT / native build (./gradlew -Paot ...), ignored on a normal JVM run.
+
+Spring AOT finds most things itself (beans, JPA entities for hibernate, repositories).
+What it can't see:
+  - JSON bodies: controllers return ResponseEntity<?>, so the types jackson binds are listed here
+  - jjwt: the api jar creates the impl classes by name and finds the jackson serializer via ServiceLoader
+  - cloudinary: picks its http44 upload/api strategy with Class.forName
+Lombok needs nothing, it only generates plain code at compile time.
+*/
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.LibraryHints.class)
+@RegisterReflectionForBinding({
+        Issue.class, User.class, ArchivedIssue.class, PagedModel.class, PagedModel.PageMetadata.class,
+        AuthRequest.class, AuthResponse.class, RegisterRequest.class,
+        ImportReport.class, ImportReport.RowError.class, OutboxStats.class
+})
+public class NativeHintsConfig {
+
+    static class LibraryHints implements RuntimeHintsRegistrar {
+
+        private static final String[] JJWT_TYPES = {
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.impl.DefaultHeader",
+                "io.jsonwebtoken.impl.DefaultJwsHeader",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        };
+
+        private static final String[] CLOUDINARY_TYPES = {
+                "com.cloudinary.http44.UploaderStrategy",
+                "com.cloudinary.http44.ApiStrategy"
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String type : JJWT_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type),
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+
+            for (String type : CLOUDINARY_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            }
+
+            // optional zone map for the AssignmentEngine
+            hints.resources().registerPattern("zones.geojson");
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.securitydemo.civicflowbackend.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/*
+Sends read-only transactions to a replica and everything else to the primary.
+
+Only active when app.datasource.replica.jdbc-url is set, otherwise boot's single
+datasource is used as before. Replica pool settings live under app.datasource.replica
+(jdbc-url, username, password, maximum-pool-size, ...).
+
+How it works:
+  @Transactional(readOnly = true) marks the JDBC connection read-only.
+  The lazy proxy only fetches a real connection on the first statement, by then it
+  knows the flag and picks the read-only datasource (replica) or the primary.
+  Users who just wrote (ReadYourWritesTracker) are routed back to the primary.
+
+The decision is made once per physical connection. Spring's default for hibernate
+(DELAYED_ACQUISITION_AND_HOLD) keeps that connection until the EntityManager closes,
+and with open-in-view that is the end of the request: a read-only lookup followed by
+an insert in the same request (AuthController.register) would send the insert to the
+replica. Connections are therefore released after every transaction, so each
+transaction routes on its own flags.
+*/
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "jdbc-url")
+public class ReadReplicaConfig {
+
+    // same binding boot uses for its own hikari pool
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+                                 ReadYourWritesTracker readYourWritesTracker) {
+        return routingDataSource(primaryDataSource, replicaDataSource, readYourWritesTracker);
+    }
+
+    public static DataSource routingDataSource(DataSource primary, DataSource replica, ReadYourWritesTracker tracker) {
+        ReplicaRoutingDataSource reads = new ReplicaRoutingDataSource(tracker);
+        reads.setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        reads.setDefaultTargetDataSource(replica);
+        reads.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(reads);
+        return proxy;
+    }
+
+    private enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    // only asked for read-only connections
+    private static class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+        private final ReadYourWritesTracker tracker;
+
+        ReplicaRoutingDataSource(ReadYourWritesTracker tracker) {
+            this.tracker = tracker;
+        }
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return tracker.isSticky() ? Route.PRIMARY : Route.REPLICA;
+        }
+    }
+}
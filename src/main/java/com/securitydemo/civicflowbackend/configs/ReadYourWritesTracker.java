@@ -0,0 +1,85 @@
+package com.securitydemo.civicflowbackend.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/*
+Keeps a user's reads on the primary for a few seconds after they wrote something.
+
+The replica lags behind the primary, so right after a user creates or updates an issue
+their own reads are sent to the primary (see ReadReplicaConfig) and they see their change.
+Everybody else keeps reading from the replica.
+
+The server keeps no state: auth is a stateless JWT and the next request may land on
+any instance behind the load balancer. A write answers with an X-Last-Write header
+(epoch millis) and the client sends it back on its following requests, whichever
+instance gets them routes that user's reads to the primary until the window is over.
+The value only decides where the sender's own reads go, a made up one at most costs
+the primary a few extra reads.
+*/
+@Component
+public class ReadYourWritesTracker {
+
+    public static final String LAST_WRITE_HEADER = "X-Last-Write";
+
+    // a write earlier in the same request, the response header isn't readable back
+    private static final String WRITTEN_AT = ReadYourWritesTracker.class.getName() + ".writtenAt";
+
+    private final long windowMillis;
+
+    public ReadYourWritesTracker(@Value("${app.datasource.replica.sticky-window:5s}") Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    // call after the current request wrote something
+    public void recordWrite() {
+        ServletRequestAttributes request = currentRequest();
+        if (request == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        request.setAttribute(WRITTEN_AT, now, RequestAttributes.SCOPE_REQUEST);
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader(LAST_WRITE_HEADER, Long.toString(now));
+        }
+    }
+
+    // true when the caller wrote inside the window, their reads must see the primary
+    public boolean isSticky() {
+        ServletRequestAttributes request = currentRequest();
+        if (request == null) {
+            return false;
+        }
+
+        Object writtenAt = request.getAttribute(WRITTEN_AT, RequestAttributes.SCOPE_REQUEST);
+        long lastWrite = writtenAt != null ? (Long) writtenAt
+                : parse(request.getRequest().getHeader(LAST_WRITE_HEADER));
+
+        // clocks of different instances drift a little, a value far in the future is bogus
+        long age = System.currentTimeMillis() - lastWrite;
+        return lastWrite > 0 && Math.abs(age) <= windowMillis;
+    }
+
+    private static long parse(String header) {
+        if (header == null || header.isBlank()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // background jobs have no request and always read from the replica
+    private static ServletRequestAttributes currentRequest() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes : null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.securitydemo.civicflowbackend.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+// turns on the @Scheduled background jobs (issue archival, outbox dispatch, assignment resync)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    // boot's default scheduler has a single thread: a long archive run or a resync would
+    // hold up outbox delivery until it finished. One thread per job keeps them apart.
+    @Value("${app.scheduling.pool-size:3}")
+    private int poolSize;
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder
+                .poolSize(poolSize)
+                .threadNamePrefix("scheduling-")
+                .build();
+    }
+}
@@ -50,6 +50,7 @@ public class SecurityConfig {
 
                         // Official Routes -Only Officials/Admins can update status
                         .requestMatchers(HttpMethod.PUT, "/issues/**").hasAnyRole("OFFICIAL", "ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/issues/assigned").hasAnyRole("OFFICIAL", "ADMIN")
 
                         // All other routes (e.g., /my-reports) - Must be logged in
                         .anyRequest().authenticated()
@@ -103,7 +104,10 @@ public class SecurityConfig {
 
         //  ALLOW THE JWT HEADER (Critical!)
         // If you don't add "Authorization", the frontend cannot send the token.
-        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", ReadYourWritesTracker.LAST_WRITE_HEADER));
+
+        // let the frontend read the last write time so it can send it back
+        configuration.setExposedHeaders(List.of(ReadYourWritesTracker.LAST_WRITE_HEADER));
 
         // Apply to all URLs
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
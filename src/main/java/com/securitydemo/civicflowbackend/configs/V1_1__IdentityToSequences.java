@@ -0,0 +1,74 @@
+package com.securitydemo.civicflowbackend.configs;
+
+import com.securitydemo.civicflowbackend.entities.IdAllocation;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+/*
+Runs right after the V1 baseline. Schemas that hibernate created before the migrations
+existed use IDENTITY ids and have no sequences: baselined at V1, they get here next.
+
+For users and issues it creates the sequence starting after the current MAX(id), with
+INCREMENT BY matching IdAllocation.ALLOCATION_SIZE, and drops the identity from the id
+column so hibernate can insert its own ids.
+
+Oracle only. Schemas built from V1 (and H2 in tests) already have the sequences and no
+identity, there is nothing to convert.
+
+A bean rather than a class under db/migration: boot hands JavaMigration beans to flyway,
+which also works in the native image where flyway can't scan the classpath for classes.
+*/
+@Component
+public class V1_1__IdentityToSequences extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        String product = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+        if (!product.contains("oracle")) {
+            return;
+        }
+
+        toSequence(connection, "users", "users_seq");
+        toSequence(connection, "issues", "issues_seq");
+    }
+
+    // table and sequence names are constants above, never user input
+    private static void toSequence(Connection connection, String table, String sequence) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if (count(connection, "SELECT COUNT(*) FROM user_sequences WHERE sequence_name = ?",
+                    sequence.toUpperCase(Locale.ROOT)) == 0) {
+                long start;
+                try (ResultSet rows = statement.executeQuery("SELECT NVL(MAX(id), 0) + 1 FROM " + table)) {
+                    rows.next();
+                    start = rows.getLong(1);
+                }
+                statement.execute("CREATE SEQUENCE " + sequence + " START WITH " + start
+                        + " INCREMENT BY " + IdAllocation.ALLOCATION_SIZE + " CACHE 20");
+            }
+
+            if (count(connection, "SELECT COUNT(*) FROM user_tab_identity_cols WHERE table_name = ? AND column_name = 'ID'",
+                    table.toUpperCase(Locale.ROOT)) > 0) {
+                statement.execute("ALTER TABLE " + table + " MODIFY id DROP IDENTITY");
+            }
+        }
+    }
+
+    private static long count(Connection connection, String sql, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, name);
+            try (ResultSet rows = statement.executeQuery()) {
+                rows.next();
+                return rows.getLong(1);
+            }
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package com.securitydemo.civicflowbackend.controllers;
 
+import com.securitydemo.civicflowbackend.configs.ReadYourWritesTracker;
 import com.securitydemo.civicflowbackend.entities.User;
+import com.securitydemo.civicflowbackend.repositories.ArchivedIssueRepository;
 import com.securitydemo.civicflowbackend.repositories.IssueRepository;
 import com.securitydemo.civicflowbackend.repositories.UserRepository;
+import com.securitydemo.civicflowbackend.services.AssignmentEngine;
+import com.securitydemo.civicflowbackend.services.IssueImportService;
+import com.securitydemo.civicflowbackend.services.OutboxDispatcher;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 import java.util.Map;
@@ -19,9 +25,15 @@ public class AdminController {
 
     private final UserRepository userRepository;
     private final IssueRepository issueRepository;
+    private final ArchivedIssueRepository archivedIssueRepository;
+    private final IssueImportService issueImportService;
+    private final OutboxDispatcher outboxDispatcher;
+    private final AssignmentEngine assignmentEngine;
+    private final ReadYourWritesTracker readYourWritesTracker;
 
     // Get all users (for admin panel)
     @GetMapping("/users")
+    @Transactional(readOnly = true)
     public ResponseEntity<?> getAllUsers() {
         List<User> users = userRepository.findAll();
 
@@ -56,9 +68,42 @@ public class AdminController {
 
         // First delete all issues reported by this user
         issueRepository.deleteByReporter(user);
+        archivedIssueRepository.deleteByReporter(user);
+
+        // Issues assigned to an official go back to unassigned
+        issueRepository.unassignAll(user);
+        archivedIssueRepository.unassignAll(user);
+        assignmentEngine.removeOfficial(user.getId());
 
         // Then delete the user
         userRepository.delete(user);
+        // the admin's user list right after must not show them again from the replica.
+        // Requests with the deleted user's own token are only refused once the replica has caught up.
+        readYourWritesTracker.recordWrite();
         return ResponseEntity.ok("User deleted successfully");
     }
+
+    // Bulk import legacy issues from a CSV or GeoJSON file
+    // format is "csv" or "geojson", guessed from the file name when missing
+    @PostMapping("/issues/import")
+    public ResponseEntity<?> importIssues(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "format", required = false) String format
+    ) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body("Import file is empty");
+        }
+
+        try {
+            return ResponseEntity.ok(issueImportService.importIssues(file, format));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Outbox health: backlog, dead events and how far the dispatcher is behind
+    @GetMapping("/outbox")
+    public ResponseEntity<?> getOutboxStats() {
+        return ResponseEntity.ok(outboxDispatcher.getStats());
+    }
 }
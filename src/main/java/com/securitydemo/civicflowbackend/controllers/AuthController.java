@@ -1,11 +1,13 @@
 package com.securitydemo.civicflowbackend.controllers;
 
 import com.securitydemo.civicflowbackend.Security.JwtUtil;
+import com.securitydemo.civicflowbackend.configs.ReadYourWritesTracker;
 import com.securitydemo.civicflowbackend.dtos.AuthRequest;
 import com.securitydemo.civicflowbackend.dtos.AuthResponse;
 import com.securitydemo.civicflowbackend.dtos.RegisterRequest;
 import com.securitydemo.civicflowbackend.entities.User;
 import com.securitydemo.civicflowbackend.repositories.UserRepository;
+import com.securitydemo.civicflowbackend.services.AssignmentEngine;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -34,6 +36,10 @@ public class AuthController {
 
     private final AuthenticationManager authenticationManager;
 
+    private final AssignmentEngine assignmentEngine;
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
     // REGISTER ENDPOINT
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody RegisterRequest request) {
@@ -58,6 +64,11 @@ public class AuthController {
         user.setDepartment(request.getDepartment());
 
         userRepository.save(user);
+        // the login that follows reads the user, it must not wait for the replica
+        readYourWritesTracker.recordWrite();
+
+        // officials can receive issues right away
+        assignmentEngine.addOfficial(user);
 
         return ResponseEntity.ok("User registered successfully!");
     }
@@ -3,8 +3,10 @@ package com.securitydemo.civicflowbackend.controllers;
 import com.securitydemo.civicflowbackend.dtos.IssueRequest;
 import com.securitydemo.civicflowbackend.entities.IssueStatus;
 import com.securitydemo.civicflowbackend.services.CloudinaryService;
+import com.securitydemo.civicflowbackend.services.IssueArchiveService;
 import com.securitydemo.civicflowbackend.services.IssueService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.web.PagedModel;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -19,6 +21,8 @@ public class IssueController {
 
     private final CloudinaryService cloudinaryService;
 
+    private final IssueArchiveService issueArchiveService;
+
     @PostMapping
     public ResponseEntity<?> reportIssue(
             @RequestParam("title") String title,
@@ -51,6 +55,24 @@ public class IssueController {
         return ResponseEntity.ok(issueService.getMyIssues());
     }
 
+    // open issues assigned to the logged in official, paged
+    @GetMapping("/assigned")
+    public ResponseEntity<?> getAssignedIssues(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(new PagedModel<>(issueService.getAssignedIssues(page, size)));
+    }
+
+    // archived (long resolved) issues, paged
+    @GetMapping("/history")
+    public ResponseEntity<?> getIssueHistory(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(new PagedModel<>(issueArchiveService.getHistory(page, size)));
+    }
+
     @PutMapping("/{id}/status")
     public ResponseEntity<?> updateStatus(@PathVariable Long id, @RequestParam IssueStatus status) {
         return ResponseEntity.ok(issueService.updateStatus(id, status));
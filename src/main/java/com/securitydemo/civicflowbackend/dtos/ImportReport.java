@@ -0,0 +1,34 @@
+package com.securitydemo.civicflowbackend.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ImportReport {
+
+    // cap the error list so a badly broken file can't blow up the response
+    public static final int MAX_ERRORS = 1000;
+
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private long durationMs;
+    private List<RowError> errors = new ArrayList<>();
+
+    public void addError(long row, String message) {
+        failed++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new RowError(row, message));
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+        private long row;
+        private String message;
+    }
+}
@@ -0,0 +1,14 @@
+package com.securitydemo.civicflowbackend.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class OutboxStats {
+    private long pending;       // events waiting for delivery (incl. retries)
+    private long dead;          // events that used up all attempts
+    private long lagMs;         // age of the oldest pending event
+    private long delivered;     // since this instance started
+    private long failedAttempts;
+}
@@ -0,0 +1,59 @@
+package com.securitydemo.civicflowbackend.entities;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/*
+Resolved issues that were moved out of the hot "issues" table by the archival job.
+Same columns as Issue, the id is kept from the original row.
+*/
+@Entity
+@Table(name = "archived_issues")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedIssue {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false)
+    private String description;
+
+    private Double latitude;
+    private Double longitude;
+
+    private String imageUrl;
+
+    @Enumerated(EnumType.STRING)
+    private IssueStatus status;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime resolvedAt;
+
+    private String department;
+
+    @ManyToOne
+    @JoinColumn(name = "reporter_id", nullable = false)
+    private User reporter;
+
+    // history pages don't need the official, only the id is serialized
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assignee_id")
+    @JsonIgnore
+    private User assignee;
+
+    // the id of a lazy reference is read without loading the user
+    public Long getAssigneeId() {
+        return assignee != null ? assignee.getId() : null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.securitydemo.civicflowbackend.entities;
+
+/*
+Shared id allocation settings for the sequence backed entities.
+
+Hibernate reserves ALLOCATION_SIZE ids per sequence call and hands them out in memory,
+so a batch of inserts costs one sequence round-trip instead of one per row.
+The database sequences must be created with INCREMENT BY = ALLOCATION_SIZE
+(see V1__baseline_schema.sql), change both together.
+*/
+public final class IdAllocation {
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdAllocation() {
+    }
+}
@@ -1,9 +1,9 @@
 package com.securitydemo.civicflowbackend.entities;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 @Entity
 @Table(name = "issues")
@@ -12,8 +12,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Issue {
 
+    // sequence ids let hibernate batch inserts (IDENTITY forces one round-trip per row)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "issues_seq")
+    @SequenceGenerator(name = "issues_seq", sequenceName = "issues_seq", allocationSize = IdAllocation.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -30,11 +32,37 @@ public class Issue {
     @Enumerated(EnumType.STRING)
     private IssueStatus status = IssueStatus.OPEN;
 
-    @CreationTimestamp
+    @Column(updatable = false)
     private LocalDateTime createdAt;
 
+    // set when the issue moves to RESOLVED, the archival job ages issues by this
+    private LocalDateTime resolvedAt;
+
     // Many Issues can belong to One User
     @ManyToOne
     @JoinColumn(name = "reporter_id", nullable = false)
     private User reporter;
+
+    // set by the AssignmentEngine when the issue is created
+    private String department;
+
+    // official handling the issue, null when nobody in the department could take it.
+    // Serialized as assigneeId only: the user would cost a select per issue and expose their email
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assignee_id")
+    @JsonIgnore
+    private User assignee;
+
+    // the id of a lazy reference is read without loading the user
+    public Long getAssigneeId() {
+        return assignee != null ? assignee.getId() : null;
+    }
+
+    // only stamp when empty so imported legacy issues keep their original date
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
 }
@@ -0,0 +1,6 @@
+package com.securitydemo.civicflowbackend.entities;
+
+public enum IssueEventType {
+    ISSUE_CREATED,          // a citizen reported a new issue
+    ISSUE_STATUS_CHANGED    // an official/admin moved the issue to another status
+}
@@ -0,0 +1,53 @@
+package com.securitydemo.civicflowbackend.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/*
+Issue lifecycle event, written in the same transaction as the issue change
+and delivered later by the OutboxDispatcher. Rows are deleted once delivered.
+*/
+@Entity
+@Table(name = "outbox_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = IdAllocation.ALLOCATION_SIZE)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private IssueEventType eventType;
+
+    @Column(nullable = false)
+    private Long issueId;
+
+    // status after the change, and before it (null for ISSUE_CREATED)
+    @Enumerated(EnumType.STRING)
+    private IssueStatus status;
+
+    @Enumerated(EnumType.STRING)
+    private IssueStatus previousStatus;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // delivery bookkeeping, failed events are retried with a growing delay
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    private String lastError;
+
+    // token of the dispatcher poll currently delivering the event, null when nobody is
+    private String claimToken;
+}
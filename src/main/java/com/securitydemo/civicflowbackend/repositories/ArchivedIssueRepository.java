@@ -0,0 +1,35 @@
+package com.securitydemo.civicflowbackend.repositories;
+
+import com.securitydemo.civicflowbackend.entities.ArchivedIssue;
+import com.securitydemo.civicflowbackend.entities.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedIssueRepository extends JpaRepository<ArchivedIssue, Long> {
+
+    // set based copy, the rows never get loaded into the persistence context
+    @Modifying
+    @Query(value = """
+            INSERT INTO archived_issues
+                (id, title, description, latitude, longitude, image_url, status, created_at, resolved_at, department, reporter_id, assignee_id)
+            SELECT id, title, description, latitude, longitude, image_url, status, created_at, resolved_at, department, reporter_id, assignee_id
+            FROM issues
+            WHERE id IN (:ids)
+            """, nativeQuery = true)
+    int copyFromIssues(List<Long> ids);
+
+    // bulk delete, a derived delete would load and remove every row one by one
+    @Modifying
+    @Query("delete from ArchivedIssue a where a.reporter = :reporter")
+    int deleteByReporter(User reporter);
+
+    // deleting an official clears them from the history too
+    @Modifying
+    @Query("update ArchivedIssue a set a.assignee = null where a.assignee = :assignee")
+    int unassignAll(User assignee);
+}
@@ -1,17 +1,39 @@
 package com.securitydemo.civicflowbackend.repositories;
 
 import com.securitydemo.civicflowbackend.entities.Issue;
+import com.securitydemo.civicflowbackend.entities.IssueStatus;
 import com.securitydemo.civicflowbackend.entities.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface IssueRepository extends JpaRepository<Issue, Long> {
     List<Issue> findByReporter(User reporter);
 
-    List<Issue> findByStatus(String status);
+    List<Issue> findByStatus(IssueStatus status);
 
     void deleteByReporter(User reporter);
+
+    // oldest resolved issues first, one archival chunk at a time
+    @Query("select i.id from Issue i where i.status = :status and i.resolvedAt < :cutoff order by i.resolvedAt")
+    List<Long> findIdsResolvedBefore(IssueStatus status, LocalDateTime cutoff, Pageable pageable);
+
+    // an official's queue: everything assigned to them that is still open
+    Page<Issue> findByAssigneeAndStatusNot(User assignee, IssueStatus status, Pageable pageable);
+
+    // [official id, open issue count], used to rebuild the assignment counters
+    @Query("select i.assignee.id, count(i) from Issue i where i.assignee is not null and i.status <> :resolved group by i.assignee.id")
+    List<Object[]> countOpenByAssignee(IssueStatus resolved);
+
+    // deleting an official puts their issues back to unassigned
+    @Modifying
+    @Query("update Issue i set i.assignee = null where i.assignee = :assignee")
+    int unassignAll(User assignee);
 }
@@ -0,0 +1,52 @@
+package com.securitydemo.civicflowbackend.repositories;
+
+import com.securitydemo.civicflowbackend.entities.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // candidates for the next batch, in the order the events were written
+    @Query("select e.id from OutboxEvent e where e.nextAttemptAt <= :now and e.attempts < :maxAttempts order by e.id")
+    List<Long> findDueIds(LocalDateTime now, int maxAttempts, Pageable pageable);
+
+    // takes the candidates that are still due: moving nextAttemptAt to the end of the lease
+    // hides them from every other poll. A row another instance claimed first fails the
+    // nextAttemptAt check once its update commits, so each row has one owner.
+    @Modifying
+    @Query("""
+            update OutboxEvent e set e.claimToken = :token, e.nextAttemptAt = :leaseUntil
+            where e.id in :ids and e.nextAttemptAt <= :now
+            """)
+    int claim(List<Long> ids, String token, LocalDateTime now, LocalDateTime leaseUntil);
+
+    List<OutboxEvent> findByClaimTokenOrderByIdAsc(String claimToken);
+
+    // settle: both only touch rows the poll still owns. After an expired lease another
+    // instance may have claimed the row again, it is theirs to settle then.
+    @Modifying
+    @Query("delete from OutboxEvent e where e.id in :ids and e.claimToken = :token")
+    int deleteClaimed(List<Long> ids, String token);
+
+    @Modifying
+    @Query("""
+            update OutboxEvent e
+            set e.attempts = :attempts, e.nextAttemptAt = :nextAttemptAt, e.lastError = :lastError, e.claimToken = null
+            where e.id = :id and e.claimToken = :token
+            """)
+    int rescheduleClaimed(Long id, String token, int attempts, LocalDateTime nextAttemptAt, String lastError);
+
+    // oldest event still waiting for delivery, its age is the dispatcher lag
+    Optional<OutboxEvent> findFirstByAttemptsLessThanOrderByIdAsc(int maxAttempts);
+
+    // events that used up all their attempts and need a look
+    long countByAttemptsGreaterThanEqual(int maxAttempts);
+}
@@ -1,9 +1,11 @@
 package com.securitydemo.civicflowbackend.repositories;
 
+import com.securitydemo.civicflowbackend.entities.Role;
 import com.securitydemo.civicflowbackend.entities.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 
@@ -11,4 +13,6 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User,Long> {
 
     Optional<User> findByEmail(String email);
+
+    List<User> findByRole(Role role);
 }
@@ -0,0 +1,188 @@
+package com.securitydemo.civicflowbackend.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.securitydemo.civicflowbackend.entities.Issue;
+import com.securitydemo.civicflowbackend.entities.IssueStatus;
+import com.securitydemo.civicflowbackend.entities.Role;
+import com.securitydemo.civicflowbackend.entities.User;
+import com.securitydemo.civicflowbackend.repositories.IssueRepository;
+import com.securitydemo.civicflowbackend.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+Routes every new issue to a department and to the least busy official in it.
+
+  department -> zone polygon containing the issue location (ZoneIndex, app.assignment.zones)
+  official   -> fewest open (not RESOLVED) assigned issues, from in-memory counters
+
+Everything on the submit path is in memory, no queries. A counter goes up when this
+instance assigns an issue, nothing else touches it between resyncs: resolves, reopens
+and other instances' assignments are only picked up when the roster and counters are
+rebuilt from the database every app.assignment.resync-interval-ms. Counters are
+therefore per instance and up to one interval stale, which only makes the choice of
+official a little less even, never wrong. They are deliberately not adjusted from
+outbox events: delivery is at-least-once and every instance keeps its own counters,
+so event-driven adjustments would drift anyway.
+
+Zones file format: GeoJSON FeatureCollection of Polygon/MultiPolygon features with a
+"department" property matching User.department of the officials (case insensitive).
+Without a zones file issues fall back to app.assignment.default-department, if set.
+*/
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AssignmentEngine {
+
+    private final UserRepository userRepository;
+
+    private final IssueRepository issueRepository;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.assignment.zones:classpath:zones.geojson}")
+    private Resource zonesResource;
+
+    @Value("${app.assignment.default-department:}")
+    private String defaultDepartment;
+
+    private volatile ZoneIndex zoneIndex = ZoneIndex.empty();
+
+    // department key -> official ids, replaced as a whole (copy on write)
+    private volatile Map<String, List<Long>> roster = Map.of();
+
+    // official id -> open issues currently assigned to them
+    private final Map<Long, AtomicInteger> workload = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        loadZones();
+        resync();
+    }
+
+    private void loadZones() {
+        if (!zonesResource.exists()) {
+            log.info("No zone map at {}, issues go to the default department", zonesResource.getDescription());
+            return;
+        }
+
+        try (InputStream in = zonesResource.getInputStream()) {
+            zoneIndex = ZoneIndex.fromGeoJson(objectMapper.readTree(in));
+            log.info("Loaded {} department zones", zoneIndex.size());
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not load zone map from {}", zonesResource.getDescription(), e);
+        }
+    }
+
+    // Rebuild roster and counters from the database
+    @Scheduled(fixedDelayString = "${app.assignment.resync-interval-ms:60000}",
+            initialDelayString = "${app.assignment.resync-interval-ms:60000}")
+    public void resync() {
+        Map<String, List<Long>> officials = new HashMap<>();
+        for (User official : userRepository.findByRole(Role.OFFICIAL)) {
+            if (official.getDepartment() != null && !official.getDepartment().isBlank()) {
+                officials.computeIfAbsent(key(official.getDepartment()), d -> new ArrayList<>()).add(official.getId());
+            }
+        }
+
+        Map<Long, Integer> openCounts = new HashMap<>();
+        for (Object[] row : issueRepository.countOpenByAssignee(IssueStatus.RESOLVED)) {
+            openCounts.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+
+        Set<Long> known = new HashSet<>();
+        officials.values().forEach(known::addAll);
+        workload.keySet().retainAll(known);
+        for (Long id : known) {
+            workload.computeIfAbsent(id, i -> new AtomicInteger()).set(openCounts.getOrDefault(id, 0));
+        }
+
+        officials.replaceAll((department, ids) -> List.copyOf(ids));
+        roster = Map.copyOf(officials);
+    }
+
+    // Sets department and assignee on a new issue, before it is saved
+    public void assign(Issue issue) {
+        String department = departmentFor(issue.getLatitude(), issue.getLongitude());
+        if (department == null) {
+            return;
+        }
+        issue.setDepartment(department);
+
+        Long officialId = leastLoaded(department);
+        if (officialId == null) {
+            return;
+        }
+        workload.computeIfAbsent(officialId, id -> new AtomicInteger()).incrementAndGet();
+        issue.setAssignee(userRepository.getReferenceById(officialId));
+    }
+
+    private String departmentFor(Double lat, Double lng) {
+        String department = lat == null || lng == null ? null : zoneIndex.departmentAt(lat, lng);
+        if (department == null && !defaultDepartment.isBlank()) {
+            return defaultDepartment;
+        }
+        return department;
+    }
+
+    private Long leastLoaded(String department) {
+        Long best = null;
+        int bestLoad = Integer.MAX_VALUE;
+
+        for (Long id : roster.getOrDefault(key(department), List.of())) {
+            AtomicInteger counter = workload.get(id);
+            int load = counter == null ? 0 : counter.get();
+            if (load < bestLoad) {
+                best = id;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
+    // new official registered, they start with an empty queue
+    public synchronized void addOfficial(User official) {
+        if (official.getRole() != Role.OFFICIAL || official.getDepartment() == null || official.getDepartment().isBlank()) {
+            return;
+        }
+
+        Map<String, List<Long>> updated = new HashMap<>(roster);
+        List<Long> ids = new ArrayList<>(updated.getOrDefault(key(official.getDepartment()), List.of()));
+        ids.add(official.getId());
+        updated.put(key(official.getDepartment()), List.copyOf(ids));
+
+        workload.putIfAbsent(official.getId(), new AtomicInteger());
+        roster = Map.copyOf(updated);
+    }
+
+    public synchronized void removeOfficial(Long officialId) {
+        Map<String, List<Long>> updated = new HashMap<>();
+        roster.forEach((department, ids) -> updated.put(department,
+                ids.stream().filter(id -> !id.equals(officialId)).toList()));
+
+        workload.remove(officialId);
+        roster = Map.copyOf(updated);
+    }
+
+    private static String key(String department) {
+        return department.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,104 @@
+package com.securitydemo.civicflowbackend.services;
+
+import com.securitydemo.civicflowbackend.entities.ArchivedIssue;
+import com.securitydemo.civicflowbackend.entities.IssueStatus;
+import com.securitydemo.civicflowbackend.repositories.ArchivedIssueRepository;
+import com.securitydemo.civicflowbackend.repositories.IssueRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/*
+Keeps the "issues" table small: resolved issues older than app.archive.after-days
+are moved to "archived_issues" by a nightly job.
+
+Every chunk is its own transaction (copy + delete), so a failure only rolls back
+that chunk and locks are held for a short time. The map and list endpoints keep
+reading "issues" only, old data is served by the history endpoint.
+
+The job runs on every instance without a lock. When two instances pick the same
+chunk the later one fails on the archived_issues primary key; the failure is
+logged and the loop reads the next chunk, which no longer contains the rows the
+other instance moved. After MAX_CONSECUTIVE_FAILURES failed chunks in a row the
+run gives up until the next night.
+*/
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IssueArchiveService {
+
+    // Oracle allows at most 1000 values in an IN list
+    private static final int MAX_CHUNK_SIZE = 1000;
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final int MAX_CONSECUTIVE_FAILURES = 3;
+
+    private final IssueRepository issueRepository;
+
+    private final ArchivedIssueRepository archivedIssueRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.archive.after-days:90}")
+    private long archiveAfterDays;
+
+    @Value("${app.archive.chunk-size:500}")
+    private int chunkSize;
+
+    @Scheduled(cron = "${app.archive.cron:0 30 2 * * *}")
+    public void archiveResolvedIssues() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(archiveAfterDays);
+        PageRequest chunk = PageRequest.of(0, Math.min(chunkSize, MAX_CHUNK_SIZE));
+        long archived = 0;
+        int failures = 0;
+
+        while (failures < MAX_CONSECUTIVE_FAILURES) {
+            Integer moved;
+            try {
+                moved = transactionTemplate.execute(tx -> {
+                    List<Long> ids = issueRepository.findIdsResolvedBefore(IssueStatus.RESOLVED, cutoff, chunk);
+                    if (ids.isEmpty()) {
+                        return 0;
+                    }
+                    archivedIssueRepository.copyFromIssues(ids);
+                    issueRepository.deleteAllByIdInBatch(ids);
+                    return ids.size();
+                });
+            } catch (RuntimeException e) {
+                // most likely another instance archived the same chunk first
+                failures++;
+                log.warn("Archive chunk failed ({} in a row)", failures, e);
+                continue;
+            }
+
+            if (moved == null || moved == 0) {
+                break;
+            }
+            archived += moved;
+            failures = 0;
+        }
+
+        if (archived > 0) {
+            log.info("Archived {} issues resolved before {}", archived, cutoff);
+        }
+    }
+
+    // History (archived issues), most recently resolved first
+    @Transactional(readOnly = true)
+    public Page<ArchivedIssue> getHistory(int page, int size) {
+        PageRequest request = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE),
+                Sort.by(Sort.Direction.DESC, "resolvedAt"));
+        return archivedIssueRepository.findAll(request);
+    }
+}
@@ -0,0 +1,15 @@
+package com.securitydemo.civicflowbackend.services;
+
+import com.securitydemo.civicflowbackend.entities.OutboxEvent;
+
+/*
+In-process consumer of issue lifecycle events (notifications, stats, cache eviction, ...).
+Every handler bean gets every event from the OutboxDispatcher.
+
+Delivery is at-least-once: if any handler throws, the event is retried for all of them,
+so handlers must be safe to run twice for the same event.
+*/
+public interface IssueEventHandler {
+
+    void handle(OutboxEvent event);
+}
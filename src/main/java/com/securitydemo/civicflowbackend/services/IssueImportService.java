@@ -0,0 +1,494 @@
+package com.securitydemo.civicflowbackend.services;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.securitydemo.civicflowbackend.dtos.ImportReport;
+import com.securitydemo.civicflowbackend.entities.Issue;
+import com.securitydemo.civicflowbackend.entities.IssueStatus;
+import com.securitydemo.civicflowbackend.entities.User;
+import com.securitydemo.civicflowbackend.repositories.IssueRepository;
+import com.securitydemo.civicflowbackend.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+/*
+Bulk import of legacy issues (admin only).
+
+The file is streamed row by row, never loaded whole:
+  parse    -> CSV record / GeoJSON feature into a flat field map
+  validate -> required fields, column lengths, coordinates, status, date, reporter
+  write    -> valid rows are buffered and saved one chunk per transaction,
+              so hibernate sends them as JDBC batches. A chunk the database
+              rejects is split in halves and retried until the bad rows are alone.
+
+parse + validate run on their own thread and hand full chunks to the writer (the
+calling thread) through a small bounded queue, so reading the next rows overlaps
+with the previous chunk's round trips. When the writer falls behind the parser
+blocks, at most QUEUED_CHUNKS chunks wait in memory.
+
+The writer flushes and clears the EntityManager after every chunk. With open-in-view
+the request's persistence context spans all chunk transactions and would otherwise
+keep every imported issue managed until the request ends.
+
+Reporters are resolved through an email -> id map so each email hits the DB once.
+Bad rows never stop the import, they end up in the report instead.
+*/
+@Service
+@RequiredArgsConstructor
+public class IssueImportService {
+
+    private static final int QUEUED_CHUNKS = 2;
+
+    // VARCHAR2(255) columns of issues, Oracle counts bytes by default
+    private static final int MAX_TEXT_BYTES = 255;
+
+    private final IssueRepository issueRepository;
+
+    private final UserRepository userRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final EntityManager entityManager;
+
+    // rows per transaction, keep it a multiple of the JDBC batch size
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize;
+
+    public ImportReport importIssues(MultipartFile file, String format) {
+        boolean geoJson = isGeoJson(file, format);
+        ImportRun run = new ImportRun();
+        long start = System.currentTimeMillis();
+
+        Thread parser = new Thread(() -> run.parse(file, geoJson), "issue-import-parser");
+        parser.setDaemon(true);
+        parser.start();
+        try {
+            run.write();
+        } finally {
+            run.writerDone = true;
+        }
+
+        try {
+            parser.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        }
+
+        ImportReport report = run.report;
+        report.getErrors().sort(Comparator.comparingLong(ImportReport.RowError::getRow));
+        report.setDurationMs(System.currentTimeMillis() - start);
+        return report;
+    }
+
+    private boolean isGeoJson(MultipartFile file, String format) {
+        String name = file.getOriginalFilename() == null ? "" : file.getOriginalFilename().toLowerCase(Locale.ROOT);
+        String type = format != null ? format.toLowerCase(Locale.ROOT)
+                : name.endsWith(".geojson") || name.endsWith(".json") ? "geojson" : "csv";
+
+        if (type.equals("geojson")) {
+            return true;
+        }
+        if (type.equals("csv")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Unsupported import format: " + format);
+    }
+
+    // ---------------- parse ----------------
+
+    private void parseCsv(InputStream in, ImportRun run) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        List<String> header = readCsvRecord(reader);
+        if (header == null) {
+            return;
+        }
+        List<String> columns = header.stream().map(IssueImportService::canonicalColumn).toList();
+
+        List<String> record;
+        long row = 0;
+        while ((record = readCsvRecord(reader)) != null) {
+            if (record.stream().allMatch(String::isBlank)) {
+                continue; // skip empty lines
+            }
+            row++;
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < columns.size() && i < record.size(); i++) {
+                fields.put(columns.get(i), record.get(i));
+            }
+            run.accept(row, fields);
+        }
+    }
+
+    // reads one CSV record, quoted fields may contain commas, newlines and "" escapes.
+    // A quote only opens a quoted field as its first character, elsewhere it is
+    // kept as is (12" pipe burst). Returns null at end of file
+    private static List<String> readCsvRecord(BufferedReader reader) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        // something of the current field was read, a quote now is just text
+        boolean fieldStarted = false;
+        boolean readAnything = false;
+        int c;
+
+        while ((c = reader.read()) != -1) {
+            readAnything = true;
+            char ch = (char) c;
+
+            if (inQuotes) {
+                if (ch == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"' && !fieldStarted) {
+                inQuotes = true;
+                fieldStarted = true;
+            } else if (ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStarted = false;
+            } else if (ch == '\n') {
+                fields.add(field.toString());
+                return fields;
+            } else if (ch != '\r') {
+                field.append(ch);
+                fieldStarted = true;
+            }
+        }
+
+        if (!readAnything) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // "Reporter Email", "reporter_email" and "reporterEmail" all mean the same column
+    private static String canonicalColumn(String name) {
+        String key = name.replace("\uFEFF", "").replaceAll("[\\s_-]", "").toLowerCase(Locale.ROOT);
+        return switch (key) {
+            case "lat" -> "latitude";
+            case "lng", "lon" -> "longitude";
+            case "email", "reporter" -> "reporteremail";
+            default -> key;
+        };
+    }
+
+    // walks the FeatureCollection with the streaming parser, one feature in memory at a time
+    private void parseGeoJson(InputStream in, ImportRun run) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("GeoJSON must be a FeatureCollection object");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if (!"features".equals(name) || value != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                long row = 0;
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    JsonNode feature = objectMapper.readTree(parser);
+                    run.accept(++row, featureFields(feature));
+                }
+            }
+        }
+    }
+
+    private static Map<String, String> featureFields(JsonNode feature) {
+        Map<String, String> fields = new HashMap<>();
+
+        JsonNode properties = feature.path("properties");
+        properties.fields().forEachRemaining(entry -> {
+            if (!entry.getValue().isNull()) {
+                fields.put(canonicalColumn(entry.getKey()), entry.getValue().asText());
+            }
+        });
+
+        // GeoJSON points are [longitude, latitude]
+        JsonNode geometry = feature.path("geometry");
+        JsonNode coordinates = geometry.path("coordinates");
+        if ("Point".equals(geometry.path("type").asText()) && coordinates.size() >= 2) {
+            fields.put("longitude", coordinates.get(0).asText());
+            fields.put("latitude", coordinates.get(1).asText());
+        }
+        return fields;
+    }
+
+    // ---------------- validate ----------------
+
+    private record PendingIssue(long row, Issue issue, Long reporterId) {
+    }
+
+    private static Double parseCoordinate(String value, String name, double limit) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        double parsed;
+        try {
+            parsed = Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " is not a number: " + value);
+        }
+        if (Double.isNaN(parsed) || Math.abs(parsed) > limit) {
+            throw new IllegalArgumentException(name + " is out of range: " + value);
+        }
+        return parsed;
+    }
+
+    private static IssueStatus parseStatus(String value) {
+        if (value == null || value.isBlank()) {
+            return IssueStatus.OPEN;
+        }
+        try {
+            return IssueStatus.valueOf(value.trim().toUpperCase(Locale.ROOT).replace(' ', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown status: " + value);
+        }
+    }
+
+    // accepts 2019-05-01, 2019-05-01T10:15:00 and 2019-05-01T10:15:00Z / +02:00
+    private static LocalDateTime parseDate(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String text = value.trim();
+        try {
+            if (text.length() == 10) {
+                return LocalDate.parse(text).atStartOfDay();
+            }
+            if (text.endsWith("Z") || text.matches(".*[+-]\\d{2}:\\d{2}$")) {
+                return OffsetDateTime.parse(text).toLocalDateTime();
+            }
+            return LocalDateTime.parse(text);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date: " + value);
+        }
+    }
+
+    private static String required(Map<String, String> fields, String key, String name) {
+        String value = fields.get(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        return value.trim();
+    }
+
+    private static String maxLength(String value, String name) {
+        if (value != null && value.getBytes(StandardCharsets.UTF_8).length > MAX_TEXT_BYTES) {
+            throw new IllegalArgumentException(name + " is longer than " + MAX_TEXT_BYTES + " bytes");
+        }
+        return value;
+    }
+
+    // ---------------- write ----------------
+
+    // state of one import call. parse() runs on the parser thread and owns the
+    // reporter cache and the chunk being filled, write() runs on the caller's thread.
+    // The report is shared, every update to it holds its lock.
+    private class ImportRun {
+
+        // empty list = no more chunks
+        private static final List<PendingIssue> END = List.of();
+
+        private final ImportReport report = new ImportReport();
+
+        // email -> user id, Optional.empty() remembers unknown emails too
+        private final Map<String, Optional<Long>> reporterIds = new HashMap<>();
+
+        private List<PendingIssue> chunk = new ArrayList<>();
+
+        private final BlockingQueue<List<PendingIssue>> chunks = new ArrayBlockingQueue<>(QUEUED_CHUNKS);
+
+        // set when the writer stops, so the parser never blocks on a queue nobody reads
+        private volatile boolean writerDone;
+
+        void parse(MultipartFile file, boolean geoJson) {
+            try (InputStream in = file.getInputStream()) {
+                if (geoJson) {
+                    parseGeoJson(in, this);
+                } else {
+                    parseCsv(in, this);
+                }
+            } catch (IOException e) {
+                // keep whatever was valid before the file broke
+                synchronized (report) {
+                    report.addError(report.getTotalRows() + 1, "Could not read file: " + e.getMessage());
+                }
+            } catch (CancellationException e) {
+                // writer is gone, stop reading
+            } catch (RuntimeException e) {
+                synchronized (report) {
+                    report.addError(report.getTotalRows() + 1, "Import stopped: " + e.getMessage());
+                }
+            } finally {
+                // always sent so the writer never waits on a parser that died
+                try {
+                    if (!chunk.isEmpty()) {
+                        handOff(chunk);
+                    }
+                    handOff(END);
+                } catch (CancellationException e) {
+                    // writer is gone, nothing left to tell it
+                }
+            }
+        }
+
+        void accept(long row, Map<String, String> fields) {
+            PendingIssue pending;
+            try {
+                pending = validate(row, fields);
+            } catch (IllegalArgumentException e) {
+                synchronized (report) {
+                    report.setTotalRows(report.getTotalRows() + 1);
+                    report.addError(row, e.getMessage());
+                }
+                return;
+            }
+            synchronized (report) {
+                report.setTotalRows(report.getTotalRows() + 1);
+            }
+
+            chunk.add(pending);
+            if (chunk.size() >= chunkSize) {
+                handOff(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+
+        private void handOff(List<PendingIssue> full) {
+            try {
+                while (!chunks.offer(full, 1, TimeUnit.SECONDS)) {
+                    if (writerDone) {
+                        throw new CancellationException();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException();
+            }
+        }
+
+        private PendingIssue validate(long row, Map<String, String> fields) {
+            Issue issue = new Issue();
+            issue.setTitle(maxLength(required(fields, "title", "title"), "title"));
+            issue.setDescription(maxLength(required(fields, "description", "description"), "description"));
+            issue.setLatitude(parseCoordinate(fields.get("latitude"), "latitude", 90));
+            issue.setLongitude(parseCoordinate(fields.get("longitude"), "longitude", 180));
+            issue.setStatus(parseStatus(fields.get("status")));
+            issue.setCreatedAt(parseDate(fields.get("createdat")));
+            if (issue.getStatus() == IssueStatus.RESOLVED) {
+                // legacy files rarely know when, fall back to the report date so the row can age out
+                LocalDateTime resolvedAt = parseDate(fields.get("resolvedat"));
+                issue.setResolvedAt(resolvedAt != null ? resolvedAt
+                        : issue.getCreatedAt() != null ? issue.getCreatedAt() : LocalDateTime.now());
+            }
+
+            String imageUrl = fields.get("imageurl");
+            issue.setImageUrl(imageUrl == null || imageUrl.isBlank() ? null : maxLength(imageUrl.trim(), "imageUrl"));
+
+            String email = required(fields, "reporteremail", "reporterEmail");
+            Long reporterId = reporterIds
+                    .computeIfAbsent(email, e -> userRepository.findByEmail(e).map(User::getId))
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown reporter: " + email));
+
+            return new PendingIssue(row, issue, reporterId);
+        }
+
+        void write() {
+            try {
+                List<PendingIssue> next;
+                while ((next = chunks.take()) != END) {
+                    writeChunk(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Import interrupted", e);
+            }
+        }
+
+        private void writeChunk(List<PendingIssue> pendingIssues) {
+            try {
+                save(pendingIssues);
+                synchronized (report) {
+                    report.setImported(report.getImported() + pendingIssues.size());
+                }
+            } catch (RuntimeException e) {
+                if (pendingIssues.size() == 1) {
+                    String reason = "Write failed: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                    synchronized (report) {
+                        report.addError(pendingIssues.get(0).row(), reason);
+                    }
+                    return;
+                }
+                // one bad row rolls back the whole chunk, retry the halves so the good rows still land
+                int half = pendingIssues.size() / 2;
+                writeChunk(pendingIssues.subList(0, half));
+                writeChunk(pendingIssues.subList(half, pendingIssues.size()));
+            }
+        }
+
+        private void save(List<PendingIssue> pendingIssues) {
+            transactionTemplate.executeWithoutResult(tx -> {
+                List<Issue> issues = new ArrayList<>(pendingIssues.size());
+                for (PendingIssue pending : pendingIssues) {
+                    // a rolled back attempt leaves its sequence id behind, the retry must insert again
+                    pending.issue().setId(null);
+                    // a reference is enough for the FK, no extra select per row
+                    pending.issue().setReporter(userRepository.getReferenceById(pending.reporterId()));
+                    issues.add(pending.issue());
+                }
+                issueRepository.saveAll(issues);
+                // send the batch now and drop the chunk from the persistence context
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+}
@@ -1,14 +1,21 @@
 package com.securitydemo.civicflowbackend.services;
 
+import com.securitydemo.civicflowbackend.configs.ReadYourWritesTracker;
 import com.securitydemo.civicflowbackend.entities.Issue;
+import com.securitydemo.civicflowbackend.entities.IssueEventType;
 import com.securitydemo.civicflowbackend.entities.IssueStatus;
 import com.securitydemo.civicflowbackend.entities.User;
 import com.securitydemo.civicflowbackend.repositories.IssueRepository;
 import com.securitydemo.civicflowbackend.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -19,7 +26,14 @@ public class IssueService {
 
     private final UserRepository userRepository;
 
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    private final OutboxService outboxService;
+
+    private final AssignmentEngine assignmentEngine;
+
     // Create a new Issue
+    @Transactional
     public Issue createIssue(String title, String description, Double lat, Double lng, String imageUrl) {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
         User reporter = userRepository.findByEmail(email).orElseThrow();
@@ -33,28 +47,63 @@ public class IssueService {
         issue.setReporter(reporter);
         issue.setImageUrl(imageUrl); 
 
-        return issueRepository.save(issue);
+        // department + least loaded official, in memory
+        assignmentEngine.assign(issue);
+
+        Issue saved = issueRepository.save(issue);
+        // side effects run later from the outbox, same transaction as the insert
+        outboxService.publish(IssueEventType.ISSUE_CREATED, saved, null);
+
+        // the reporter's next reads go to the primary so the new issue shows up
+        readYourWritesTracker.recordWrite();
+        return saved;
     }
 
     // Get All Issues (For the Map)
+    @Transactional(readOnly = true)
     public List<Issue> getAllIssues() {
         return issueRepository.findAll();
     }
 
     // Get My Issues (For Profile)
+    @Transactional(readOnly = true)
     public List<Issue> getMyIssues() {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
         User user = userRepository.findByEmail(email).orElseThrow();
         return issueRepository.findByReporter(user);
     }
 
+    // Get Assigned Issues (queue of the logged in official), oldest first
+    @Transactional(readOnly = true)
+    public Page<Issue> getAssignedIssues(int page, int size) {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        User official = userRepository.findByEmail(email).orElseThrow();
+
+        PageRequest request = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 100),
+                Sort.by(Sort.Direction.ASC, "createdAt"));
+        return issueRepository.findByAssigneeAndStatusNot(official, IssueStatus.RESOLVED, request);
+    }
+
     // update status for the admin
+    @Transactional
     public Issue updateStatus(Long issueId, IssueStatus newStatus) {
         // Find the issue
         Issue issue = issueRepository.findById(issueId)
                 .orElseThrow(() -> new RuntimeException("Issue not found"));
 
+        IssueStatus previousStatus = issue.getStatus();
+
+        // resolvedAt drives archival, reopening clears it
+        if (newStatus == IssueStatus.RESOLVED && issue.getStatus() != IssueStatus.RESOLVED) {
+            issue.setResolvedAt(LocalDateTime.now());
+        } else if (newStatus != IssueStatus.RESOLVED) {
+            issue.setResolvedAt(null);
+        }
+
         issue.setStatus(newStatus);
-        return issueRepository.save(issue);
+        Issue saved = issueRepository.save(issue);
+        outboxService.publish(IssueEventType.ISSUE_STATUS_CHANGED, saved, previousStatus);
+        readYourWritesTracker.recordWrite();
+        return saved;
     }
 }
\ No newline at end of file
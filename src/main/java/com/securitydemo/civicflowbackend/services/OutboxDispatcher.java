@@ -0,0 +1,159 @@
+package com.securitydemo.civicflowbackend.services;
+
+import com.securitydemo.civicflowbackend.dtos.OutboxStats;
+import com.securitydemo.civicflowbackend.entities.OutboxEvent;
+import com.securitydemo.civicflowbackend.repositories.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+Background delivery of outbox events to the IssueEventHandler beans.
+
+  poll    -> claim a batch of due events (bounded by app.outbox.batch-size)
+  deliver -> run every handler for every event, on this thread
+  settle  -> delete delivered events, reschedule failed ones with backoff
+
+Every instance runs the dispatcher. The poll transaction claims its batch: the rows get
+the poll's token and their nextAttemptAt moves app.outbox.lease-seconds ahead, so other
+instances skip them. Settling only touches rows that still carry the token. If an
+instance dies mid batch the lease runs out and the events are delivered again.
+
+Backpressure: a new batch is only read once the previous one is settled and at most
+app.outbox.max-batches-per-poll batches run per tick, so a burst of writes just
+grows the table instead of piling work up in memory. Requests never wait for handlers.
+
+A crash between deliver and settle, or a batch that outlives its lease, redelivers
+events (at-least-once), handlers must be idempotent.
+*/
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxDispatcher {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final ObjectProvider<IssueEventHandler> handlers;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.outbox.max-batches-per-poll:10}")
+    private int maxBatchesPerPoll;
+
+    @Value("${app.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    // must be longer than delivering one batch takes
+    @Value("${app.outbox.lease-seconds:60}")
+    private long leaseSeconds;
+
+    private final AtomicLong delivered = new AtomicLong();
+
+    private final AtomicLong failedAttempts = new AtomicLong();
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:1000}", initialDelay = 5_000)
+    public void dispatch() {
+        for (int i = 0; i < maxBatchesPerPoll; i++) {
+            // a short batch means we caught up
+            if (dispatchBatch() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private int dispatchBatch() {
+        String token = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+
+        // read-write transaction on purpose: the claim is a write, and a lagging replica
+        // could hand out events that were already delivered and deleted on the primary
+        List<OutboxEvent> batch = transactionTemplate.execute(tx -> {
+            List<Long> due = outboxEventRepository.findDueIds(now, maxAttempts, PageRequest.of(0, batchSize));
+            if (due.isEmpty()) {
+                return List.of();
+            }
+            outboxEventRepository.claim(due, token, now, now.plusSeconds(leaseSeconds));
+            return outboxEventRepository.findByClaimTokenOrderByIdAsc(token);
+        });
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        List<IssueEventHandler> consumers = handlers.orderedStream().toList();
+        List<Long> deliveredIds = new ArrayList<>(batch.size());
+        List<OutboxEvent> failed = new ArrayList<>();
+
+        for (OutboxEvent event : batch) {
+            try {
+                for (IssueEventHandler handler : consumers) {
+                    handler.handle(event);
+                }
+                deliveredIds.add(event.getId());
+            } catch (RuntimeException e) {
+                reschedule(event, e);
+                failed.add(event);
+            }
+        }
+
+        Integer deleted = transactionTemplate.execute(tx -> {
+            for (OutboxEvent event : failed) {
+                outboxEventRepository.rescheduleClaimed(event.getId(), token, event.getAttempts(),
+                        event.getNextAttemptAt(), event.getLastError());
+            }
+            return deliveredIds.isEmpty() ? 0 : outboxEventRepository.deleteClaimed(deliveredIds, token);
+        });
+
+        delivered.addAndGet(deleted == null ? 0 : deleted);
+        failedAttempts.addAndGet(failed.size());
+        return batch.size();
+    }
+
+    // exponential backoff: 2s, 4s, 8s ... capped at 10 minutes
+    private void reschedule(OutboxEvent event, RuntimeException e) {
+        int attempts = event.getAttempts() + 1;
+        long delaySeconds = Math.min(600, 1L << Math.min(attempts, 10));
+
+        event.setAttempts(attempts);
+        event.setNextAttemptAt(LocalDateTime.now().plusSeconds(delaySeconds));
+        event.setLastError(e.getClass().getSimpleName() + ": " + abbreviate(e.getMessage()));
+
+        if (attempts >= maxAttempts) {
+            log.error("Outbox event {} ({} for issue {}) gave up after {} attempts",
+                    event.getId(), event.getEventType(), event.getIssueId(), attempts, e);
+        } else {
+            log.warn("Outbox event {} failed (attempt {}), retrying in {}s", event.getId(), attempts, delaySeconds);
+        }
+    }
+
+    private static String abbreviate(String message) {
+        if (message == null) {
+            return "";
+        }
+        return message.length() > 200 ? message.substring(0, 200) : message;
+    }
+
+    public OutboxStats getStats() {
+        long dead = outboxEventRepository.countByAttemptsGreaterThanEqual(maxAttempts);
+        long pending = outboxEventRepository.count() - dead;
+        long lagMs = outboxEventRepository.findFirstByAttemptsLessThanOrderByIdAsc(maxAttempts)
+                .map(oldest -> Duration.between(oldest.getCreatedAt(), LocalDateTime.now()).toMillis())
+                .orElse(0L);
+
+        return new OutboxStats(pending, dead, lagMs, delivered.get(), failedAttempts.get());
+    }
+}
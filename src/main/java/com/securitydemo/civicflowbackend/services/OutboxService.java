@@ -0,0 +1,36 @@
+package com.securitydemo.civicflowbackend.services;
+
+import com.securitydemo.civicflowbackend.entities.Issue;
+import com.securitydemo.civicflowbackend.entities.IssueEventType;
+import com.securitydemo.civicflowbackend.entities.IssueStatus;
+import com.securitydemo.civicflowbackend.entities.OutboxEvent;
+import com.securitydemo.civicflowbackend.repositories.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    // MANDATORY: the event must commit (or roll back) together with the issue change
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(IssueEventType type, Issue issue, IssueStatus previousStatus) {
+        LocalDateTime now = LocalDateTime.now();
+
+        OutboxEvent event = new OutboxEvent();
+        event.setEventType(type);
+        event.setIssueId(issue.getId());
+        event.setStatus(issue.getStatus());
+        event.setPreviousStatus(previousStatus);
+        event.setCreatedAt(now);
+        event.setNextAttemptAt(now);
+
+        outboxEventRepository.save(event);
+    }
+}
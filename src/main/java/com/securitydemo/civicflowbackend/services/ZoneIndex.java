@@ -0,0 +1,195 @@
+package com.securitydemo.civicflowbackend.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+Department zones (polygons) with a uniform grid on top for fast point lookups.
+
+Built once from a GeoJSON FeatureCollection: every Polygon / MultiPolygon feature
+with a "department" property becomes a zone. Each grid cell remembers the zones
+whose bounding box touches it, so a lookup only runs point-in-polygon on the
+few candidates of one cell instead of on every zone.
+
+Zones should not overlap, if they do the first one in the file wins.
+*/
+public final class ZoneIndex {
+
+    private static final int GRID_SIZE = 64;
+
+    private final List<Zone> zones;
+
+    private final double minLng;
+    private final double minLat;
+    private final double maxLng;
+    private final double maxLat;
+    private final double cellWidth;
+    private final double cellHeight;
+
+    // zone positions per cell, index = row * GRID_SIZE + col
+    private final int[][] cells;
+
+    private ZoneIndex(List<Zone> zones) {
+        this.zones = zones;
+
+        double west = Double.MAX_VALUE, south = Double.MAX_VALUE;
+        double east = -Double.MAX_VALUE, north = -Double.MAX_VALUE;
+        for (Zone zone : zones) {
+            west = Math.min(west, zone.minLng);
+            south = Math.min(south, zone.minLat);
+            east = Math.max(east, zone.maxLng);
+            north = Math.max(north, zone.maxLat);
+        }
+        this.minLng = west;
+        this.minLat = south;
+        this.maxLng = east;
+        this.maxLat = north;
+        this.cellWidth = Math.max((east - west) / GRID_SIZE, 1e-9);
+        this.cellHeight = Math.max((north - south) / GRID_SIZE, 1e-9);
+
+        List<List<Integer>> buckets = new ArrayList<>(GRID_SIZE * GRID_SIZE);
+        for (int i = 0; i < GRID_SIZE * GRID_SIZE; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (int z = 0; z < zones.size(); z++) {
+            Zone zone = zones.get(z);
+            for (int row = row(zone.minLat); row <= row(zone.maxLat); row++) {
+                for (int col = col(zone.minLng); col <= col(zone.maxLng); col++) {
+                    buckets.get(row * GRID_SIZE + col).add(z);
+                }
+            }
+        }
+
+        this.cells = new int[buckets.size()][];
+        for (int i = 0; i < buckets.size(); i++) {
+            cells[i] = buckets.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    public static ZoneIndex empty() {
+        return new ZoneIndex(List.of());
+    }
+
+    public static ZoneIndex fromGeoJson(JsonNode featureCollection) {
+        List<Zone> zones = new ArrayList<>();
+
+        for (JsonNode feature : featureCollection.path("features")) {
+            String department = feature.path("properties").path("department").asText("").trim();
+            JsonNode geometry = feature.path("geometry");
+            if (department.isEmpty()) {
+                continue;
+            }
+
+            switch (geometry.path("type").asText()) {
+                case "Polygon" -> zones.add(Zone.of(department, geometry.path("coordinates")));
+                case "MultiPolygon" -> {
+                    for (JsonNode polygon : geometry.path("coordinates")) {
+                        zones.add(Zone.of(department, polygon));
+                    }
+                }
+                default -> {
+                    // points/lines can't contain an issue, ignore them
+                }
+            }
+        }
+        return new ZoneIndex(zones);
+    }
+
+    public int size() {
+        return zones.size();
+    }
+
+    // department whose zone contains the point, null when outside every zone
+    public String departmentAt(double lat, double lng) {
+        if (zones.isEmpty() || lng < minLng || lng > maxLng || lat < minLat || lat > maxLat) {
+            return null;
+        }
+
+        for (int z : cells[row(lat) * GRID_SIZE + col(lng)]) {
+            Zone zone = zones.get(z);
+            if (zone.contains(lng, lat)) {
+                return zone.department;
+            }
+        }
+        return null;
+    }
+
+    private int col(double lng) {
+        return Math.min(Math.max((int) ((lng - minLng) / cellWidth), 0), GRID_SIZE - 1);
+    }
+
+    private int row(double lat) {
+        return Math.min(Math.max((int) ((lat - minLat) / cellHeight), 0), GRID_SIZE - 1);
+    }
+
+    // one polygon: outer ring first, then holes. GeoJSON points are [lng, lat]
+    private static final class Zone {
+
+        private final String department;
+        private final double[][][] rings;
+        private final double minLng;
+        private final double minLat;
+        private final double maxLng;
+        private final double maxLat;
+
+        private Zone(String department, double[][][] rings) {
+            this.department = department;
+            this.rings = rings;
+
+            double west = Double.MAX_VALUE, south = Double.MAX_VALUE;
+            double east = -Double.MAX_VALUE, north = -Double.MAX_VALUE;
+            for (double[] point : rings[0]) {
+                west = Math.min(west, point[0]);
+                east = Math.max(east, point[0]);
+                south = Math.min(south, point[1]);
+                north = Math.max(north, point[1]);
+            }
+            this.minLng = west;
+            this.minLat = south;
+            this.maxLng = east;
+            this.maxLat = north;
+        }
+
+        static Zone of(String department, JsonNode polygon) {
+            double[][][] rings = new double[polygon.size()][][];
+            for (int r = 0; r < polygon.size(); r++) {
+                JsonNode ring = polygon.get(r);
+                rings[r] = new double[ring.size()][];
+                for (int p = 0; p < ring.size(); p++) {
+                    rings[r][p] = new double[]{ring.get(p).get(0).asDouble(), ring.get(p).get(1).asDouble()};
+                }
+            }
+            if (rings.length == 0 || rings[0].length < 3) {
+                throw new IllegalArgumentException("Zone for " + department + " has no outer ring");
+            }
+            return new Zone(department, rings);
+        }
+
+        boolean contains(double lng, double lat) {
+            if (lng < minLng || lng > maxLng || lat < minLat || lat > maxLat || !inRing(rings[0], lng, lat)) {
+                return false;
+            }
+            for (int hole = 1; hole < rings.length; hole++) {
+                if (inRing(rings[hole], lng, lat)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // ray casting: count how many edges a ray to the east crosses
+        private static boolean inRing(double[][] ring, double x, double y) {
+            boolean inside = false;
+            for (int i = 0, j = ring.length - 1; i < ring.length; j = i++) {
+                double xi = ring[i][0], yi = ring[i][1];
+                double xj = ring[j][0], yj = ring[j][1];
+                if ((yi > y) != (yj > y) && x < (xj - xi) * (y - yi) / (yj - yi) + xi) {
+                    inside = !inside;
+                }
+            }
+            return inside;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+-- Baseline schema, matches the entities as of the sequence based ids.
+-- Existing databases are baselined at this version (see FlywayConfig), their
+-- IDENTITY ids are converted to these sequences by V1_1__IdentityToSequences.
+--
+-- Plain types only so the same script runs on Oracle and on H2 (MODE=Oracle) in tests.
+
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE issues_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id          NUMBER(19)    NOT NULL,
+    email       VARCHAR2(255) NOT NULL,
+    password    VARCHAR2(255) NOT NULL,
+    role        VARCHAR2(32),
+    department  VARCHAR2(255),
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE issues (
+    id           NUMBER(19)    NOT NULL,
+    title        VARCHAR2(255) NOT NULL,
+    description  VARCHAR2(255) NOT NULL,
+    latitude     FLOAT(53),
+    longitude    FLOAT(53),
+    image_url    VARCHAR2(255),
+    status       VARCHAR2(32),
+    created_at   TIMESTAMP(6),
+    reporter_id  NUMBER(19)    NOT NULL,
+    CONSTRAINT pk_issues PRIMARY KEY (id),
+    CONSTRAINT fk_issues_reporter FOREIGN KEY (reporter_id) REFERENCES users (id)
+);
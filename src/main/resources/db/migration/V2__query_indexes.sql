@@ -0,0 +1,12 @@
+-- One index per repository query path. Oracle does not index foreign keys on its own,
+-- so without these every lookup below is a full scan of issues.
+-- users.email is already covered by uk_users_email (findByEmail, login, JWT filter).
+
+-- IssueRepository.findByReporter / deleteByReporter, newest first within a reporter
+CREATE INDEX idx_issues_reporter ON issues (reporter_id, created_at);
+
+-- IssueRepository.findByStatus, newest first within a status
+CREATE INDEX idx_issues_status ON issues (status, created_at);
+
+-- date range / newest first listings across all issues
+CREATE INDEX idx_issues_created_at ON issues (created_at);
@@ -0,0 +1,30 @@
+-- Hot/cold split: resolved issues are aged by resolved_at and moved to archived_issues.
+
+ALTER TABLE issues ADD resolved_at TIMESTAMP(6);
+
+-- the real resolution time of old rows is unknown, created_at is the closest we have
+UPDATE issues SET resolved_at = created_at WHERE status = 'RESOLVED';
+
+-- IssueRepository.findIdsResolvedBefore (archival job)
+CREATE INDEX idx_issues_resolved ON issues (status, resolved_at);
+
+CREATE TABLE archived_issues (
+    id           NUMBER(19)    NOT NULL,
+    title        VARCHAR2(255) NOT NULL,
+    description  VARCHAR2(255) NOT NULL,
+    latitude     FLOAT(53),
+    longitude    FLOAT(53),
+    image_url    VARCHAR2(255),
+    status       VARCHAR2(32),
+    created_at   TIMESTAMP(6),
+    resolved_at  TIMESTAMP(6),
+    reporter_id  NUMBER(19)    NOT NULL,
+    CONSTRAINT pk_archived_issues PRIMARY KEY (id),
+    CONSTRAINT fk_archived_issues_reporter FOREIGN KEY (reporter_id) REFERENCES users (id)
+);
+
+-- ArchivedIssueRepository.deleteByReporter (deleting a user)
+CREATE INDEX idx_archived_issues_reporter ON archived_issues (reporter_id);
+
+-- history endpoint, most recently resolved first
+CREATE INDEX idx_archived_issues_resolved ON archived_issues (resolved_at);
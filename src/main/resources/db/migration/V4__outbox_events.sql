@@ -0,0 +1,20 @@
+-- Transactional outbox for issue lifecycle events (OutboxService / OutboxDispatcher).
+-- Delivered rows are deleted, so the table only holds the backlog.
+
+CREATE SEQUENCE outbox_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE outbox_events (
+    id               NUMBER(19)    NOT NULL,
+    event_type       VARCHAR2(32)  NOT NULL,
+    issue_id         NUMBER(19)    NOT NULL,
+    status           VARCHAR2(32),
+    previous_status  VARCHAR2(32),
+    created_at       TIMESTAMP(6)  NOT NULL,
+    attempts         NUMBER(10)    DEFAULT 0 NOT NULL,
+    next_attempt_at  TIMESTAMP(6)  NOT NULL,
+    last_error       VARCHAR2(255),
+    CONSTRAINT pk_outbox_events PRIMARY KEY (id)
+);
+
+-- OutboxEventRepository.findDue (dispatcher poll)
+CREATE INDEX idx_outbox_events_due ON outbox_events (next_attempt_at, attempts);
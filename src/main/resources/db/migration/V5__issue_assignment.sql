@@ -0,0 +1,16 @@
+-- Department routing: every new issue gets a department and, when possible, an official.
+
+ALTER TABLE issues ADD department VARCHAR2(255);
+
+ALTER TABLE issues ADD assignee_id NUMBER(19);
+
+ALTER TABLE issues ADD CONSTRAINT fk_issues_assignee FOREIGN KEY (assignee_id) REFERENCES users (id);
+
+-- IssueRepository.findByAssigneeAndStatusNot (official queue, oldest first),
+-- countOpenByAssignee and unassignAll
+CREATE INDEX idx_issues_assignee ON issues (assignee_id, status, created_at);
+
+-- UserRepository.findByRole (assignment roster)
+CREATE INDEX idx_users_role ON users (role);
+
+ALTER TABLE archived_issues ADD department VARCHAR2(255);
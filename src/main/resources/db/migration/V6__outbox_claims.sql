@@ -0,0 +1,7 @@
+-- Outbox claims: the dispatcher that polls an event stamps it with its claim token
+-- and only settles rows that still carry that token.
+
+ALTER TABLE outbox_events ADD claim_token VARCHAR2(36);
+
+-- OutboxEventRepository.findByClaimTokenOrderByIdAsc (load the claimed batch)
+CREATE INDEX idx_outbox_events_claim ON outbox_events (claim_token);
@@ -0,0 +1,8 @@
+-- Archived issues keep the official that handled them.
+
+ALTER TABLE archived_issues ADD assignee_id NUMBER(19);
+
+ALTER TABLE archived_issues ADD CONSTRAINT fk_archived_issues_assignee FOREIGN KEY (assignee_id) REFERENCES users (id);
+
+-- ArchivedIssueRepository.unassignAll (deleting an official)
+CREATE INDEX idx_archived_issues_assignee ON archived_issues (assignee_id);
@@ -0,0 +1,184 @@
+package com.securitydemo.civicflowbackend.configs;
+
+import com.securitydemo.civicflowbackend.Security.JwtUtil;
+import com.securitydemo.civicflowbackend.controllers.AuthController;
+import com.securitydemo.civicflowbackend.dtos.AuthRequest;
+import com.securitydemo.civicflowbackend.dtos.RegisterRequest;
+import com.securitydemo.civicflowbackend.entities.Role;
+import com.securitydemo.civicflowbackend.entities.User;
+import com.securitydemo.civicflowbackend.repositories.UserRepository;
+import com.securitydemo.civicflowbackend.services.AssignmentEngine;
+import com.securitydemo.civicflowbackend.services.CustomUserDetailsService;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/*
+Replica routing through JPA, with one EntityManager bound across transactions the
+way open-in-view does it for a request. Both databases are H2 with the flyway schema.
+*/
+@DataJpaTest(properties = {
+        "spring.datasource.url=" + ReadReplicaJpaTest.PRIMARY_URL,
+        "app.datasource.replica.jdbc-url=" + ReadReplicaJpaTest.REPLICA_URL,
+        "app.datasource.replica.username=sa",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReadReplicaConfig.class, ReadYourWritesTracker.class, CustomUserDetailsService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReadReplicaJpaTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:jpa-primary;MODE=Oracle;DB_CLOSE_DELAY=-1";
+
+    static final String REPLICA_URL = "jdbc:h2:mem:jpa-replica;MODE=Oracle;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    // the application only migrates the primary, replication is not part of the test
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        RequestContextHolder.resetRequestAttributes();
+        new JdbcTemplate(primaryDataSource).update("DELETE FROM users");
+        new JdbcTemplate(replicaDataSource).update("DELETE FROM users");
+    }
+
+    @Test
+    void writeAfterReadOnlyTransactionInTheSameRequestGoesToPrimary() {
+        // only the replica knows this user, so finding it proves the read went there
+        new JdbcTemplate(replicaDataSource).update(
+                "INSERT INTO users (id, email, password, role) VALUES (1000, 'replica@example.com', 'x', 'CITIZEN')");
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        EntityManager requestEntityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(requestEntityManager));
+        try {
+            // AuthController.register: look the email up, then insert
+            Optional<User> existing = readOnly.execute(tx -> userRepository.findByEmail("replica@example.com"));
+            assertThat(existing).isPresent();
+
+            User user = new User();
+            user.setEmail("new@example.com");
+            user.setPassword("secret");
+            user.setRole(Role.CITIZEN);
+            userRepository.save(user);
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            requestEntityManager.close();
+        }
+
+        assertThat(countUsers(primaryDataSource, "new@example.com")).isEqualTo(1);
+        assertThat(countUsers(replicaDataSource, "new@example.com")).isZero();
+    }
+
+    // the replica never gets the new row here, as if it lagged forever
+    @Test
+    void loginRightAfterRegisterFindsTheNewUser() {
+        AuthController auth = authController();
+        RegisterRequest register = new RegisterRequest();
+        register.setEmail("new@example.com");
+        register.setPassword("secret");
+        register.setRole(Role.CITIZEN);
+
+        MockHttpServletResponse registered = request(null);
+        assertThat(auth.register(register).getStatusCode().is2xxSuccessful()).isTrue();
+        String lastWrite = registered.getHeader(ReadYourWritesTracker.LAST_WRITE_HEADER);
+        assertThat(lastWrite).isNotNull();
+
+        AuthRequest login = new AuthRequest();
+        login.setEmail("new@example.com");
+        login.setPassword("secret");
+
+        // the frontend sends the header back with the login
+        request(lastWrite);
+        assertThat(auth.login(login).getStatusCode().value()).isEqualTo(200);
+
+        // without it the password check reads the lagging replica
+        request(null);
+        assertThat(auth.login(login).getStatusCode().value()).isEqualTo(401);
+    }
+
+    private AuthController authController() {
+        PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "SECRET", "dGVzdC1vbmx5LWp3dC1zZWNyZXQta2V5LTAxMjM0NTY3ODlhYmNkZWY=");
+
+        AuthController auth = new AuthController(userRepository, passwordEncoder, jwtUtil,
+                new ProviderManager(provider), mock(AssignmentEngine.class), readYourWritesTracker);
+        ReflectionTestUtils.setField(auth, "ADMIN_SECRET", "admin-secret");
+        return auth;
+    }
+
+    private static MockHttpServletResponse request(String lastWrite) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (lastWrite != null) {
+            request.addHeader(ReadYourWritesTracker.LAST_WRITE_HEADER, lastWrite);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        return response;
+    }
+
+    private static int countUsers(HikariDataSource dataSource, String email) {
+        Integer count = new JdbcTemplate(dataSource).queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email = ?", Integer.class, email);
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,132 @@
+package com.securitydemo.civicflowbackend.configs;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+Two embedded H2 databases stand in for the Oracle primary and replica,
+each one only knows its own name.
+*/
+class ReadReplicaRoutingTest {
+
+    private EmbeddedDatabase primary;
+
+    private EmbeddedDatabase replica;
+
+    private ReadYourWritesTracker tracker;
+
+    private DataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = namedDatabase("primary");
+        replica = namedDatabase("replica");
+        tracker = new ReadYourWritesTracker(Duration.ofSeconds(5));
+        routing = ReadReplicaConfig.routingDataSource(primary, replica, tracker);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void readOnlyWorkGoesToReplica() throws SQLException {
+        assertThat(serverFor(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void writesGoToPrimary() throws SQLException {
+        assertThat(serverFor(false)).isEqualTo("primary");
+    }
+
+    @Test
+    void userWhoJustWroteReadsFromPrimary() throws SQLException {
+        MockHttpServletResponse writeResponse = request(null);
+        tracker.recordWrite();
+        assertThat(serverFor(true)).isEqualTo("primary");
+
+        // next request, possibly on another instance, carries the header back
+        String lastWrite = writeResponse.getHeader(ReadYourWritesTracker.LAST_WRITE_HEADER);
+        assertThat(lastWrite).isNotNull();
+        request(lastWrite);
+        assertThat(serverFor(true)).isEqualTo("primary");
+
+        // everyone else is unaffected
+        request(null);
+        assertThat(serverFor(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void stickinessExpiresAfterTheWindow() throws Exception {
+        tracker = new ReadYourWritesTracker(Duration.ofMillis(1));
+        routing = ReadReplicaConfig.routingDataSource(primary, replica, tracker);
+
+        request(Long.toString(System.currentTimeMillis()));
+        Thread.sleep(10);
+        assertThat(serverFor(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void bogusHeadersReadFromReplica() throws SQLException {
+        request("not a number");
+        assertThat(serverFor(true)).isEqualTo("replica");
+
+        request(Long.toString(System.currentTimeMillis() + Duration.ofDays(1).toMillis()));
+        assertThat(serverFor(true)).isEqualTo("replica");
+    }
+
+    private String serverFor(boolean readOnly) throws SQLException {
+        try (Connection connection = routing.getConnection()) {
+            connection.setReadOnly(readOnly);
+            try (Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery("SELECT name FROM server")) {
+                rows.next();
+                return rows.getString(1);
+            }
+        }
+    }
+
+    // starts a new request, optionally carrying the client's last write time
+    private static MockHttpServletResponse request(String lastWrite) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (lastWrite != null) {
+            request.addHeader(ReadYourWritesTracker.LAST_WRITE_HEADER, lastWrite);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        return response;
+    }
+
+    private static EmbeddedDatabase namedDatabase(String name) throws SQLException {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name + "-routing-test")
+                .build();
+        try (Connection connection = database.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE server (name VARCHAR(16))");
+            statement.execute("INSERT INTO server VALUES ('" + name + "')");
+        }
+        return database;
+    }
+}
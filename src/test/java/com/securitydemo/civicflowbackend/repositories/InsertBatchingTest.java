@@ -0,0 +1,125 @@
+package com.securitydemo.civicflowbackend.repositories;
+
+import com.securitydemo.civicflowbackend.configs.JpaBatchingConfig;
+import com.securitydemo.civicflowbackend.entities.IdAllocation;
+import com.securitydemo.civicflowbackend.entities.Issue;
+import com.securitydemo.civicflowbackend.entities.Role;
+import com.securitydemo.civicflowbackend.entities.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+Counts what actually reaches JDBC while issues are persisted: one executeBatch
+per JDBC batch and one sequence call per IdAllocation.ALLOCATION_SIZE ids.
+*/
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:insertbatching;MODE=Oracle;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaBatchingConfig.class, InsertBatchingTest.CountingDataSourceConfig.class})
+class InsertBatchingTest {
+
+    // "<jdbc method> <sql>" for every statement executed
+    private static final List<String> EXECUTED = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void issuesAreInsertedInBatchesWithOneSequenceCallPerAllocation() {
+        User reporter = new User();
+        reporter.setEmail("citizen@example.com");
+        reporter.setPassword("secret");
+        reporter.setRole(Role.CITIZEN);
+        entityManager.persist(reporter);
+        entityManager.flush();
+        EXECUTED.clear();
+
+        int count = 120;
+        for (int i = 0; i < count; i++) {
+            Issue issue = new Issue();
+            issue.setTitle("Pothole " + i);
+            issue.setDescription("Deep pothole on main street");
+            issue.setLatitude(12.97);
+            issue.setLongitude(77.59);
+            issue.setReporter(reporter);
+            entityManager.persist(issue);
+        }
+        entityManager.flush();
+
+        int allocations = (count + IdAllocation.ALLOCATION_SIZE - 1) / IdAllocation.ALLOCATION_SIZE;
+        assertThat(executed("executeQuery", "issues_seq")).isEqualTo(allocations);
+        // 50 + 50 + 20 rows, batch size 50
+        assertThat(executed("executeBatch", "insert into issues")).isEqualTo(3);
+        assertThat(executed("executeUpdate", "insert into issues")).isZero();
+        assertThat(executed("execute", "insert into issues")).isZero();
+    }
+
+    private static long executed(String method, String sqlPart) {
+        return EXECUTED.stream()
+                .filter(entry -> entry.startsWith(method + " ") && entry.contains(sqlPart))
+                .count();
+    }
+
+    @TestConfiguration
+    static class CountingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor countingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? proxy(DataSource.class, dataSource, null) : bean;
+                }
+            };
+        }
+
+        // DataSource -> Connection -> PreparedStatement, recording executions on the way
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, String sql) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+                Object result = invoke(method, target, args);
+                String name = method.getName();
+
+                if (result instanceof Connection connection && name.equals("getConnection")) {
+                    return proxy(Connection.class, connection, null);
+                }
+                if (result instanceof PreparedStatement statement && name.equals("prepareStatement")) {
+                    return proxy(PreparedStatement.class, statement, (String) args[0]);
+                }
+                if (sql != null && name.startsWith("execute")) {
+                    EXECUTED.add(name + " " + sql.toLowerCase(Locale.ROOT));
+                }
+                return result;
+            });
+        }
+
+        private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.securitydemo.civicflowbackend.repositories;
+
+import com.securitydemo.civicflowbackend.entities.Issue;
+import com.securitydemo.civicflowbackend.entities.IssueStatus;
+import com.securitydemo.civicflowbackend.entities.Role;
+import com.securitydemo.civicflowbackend.entities.User;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+Runs every repository query against H2 (schema from the flyway migrations)
+and fails if any statement it sends is planned as a full table scan.
+*/
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:queryplans;MODE=Oracle;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.securitydemo.civicflowbackend.repositories.RepositoryQueryPlanTest$RecordingStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RepositoryQueryPlanTest {
+
+    // queries that read the whole table on purpose
+    private static final Set<String> FULL_SCAN_ALLOWED = Set.of(
+            "issues.findAll", "users.findAll", "archive.findAll", "outbox.count", "outbox.countDead",
+            "issues.countOpenByAssignee");
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ArchivedIssueRepository archivedIssueRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void everyRepositoryQueryUsesAnIndex() throws SQLException {
+        User reporter = new User();
+        reporter.setEmail("citizen@example.com");
+        reporter.setPassword("secret");
+        reporter.setRole(Role.CITIZEN);
+        entityManager.persist(reporter);
+
+        Issue issue = new Issue();
+        issue.setTitle("Pothole");
+        issue.setDescription("Deep pothole on main street");
+        issue.setLatitude(12.97);
+        issue.setLongitude(77.59);
+        issue.setReporter(reporter);
+        entityManager.persist(issue);
+        entityManager.flush();
+        entityManager.clear();
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("users.findByEmail", () -> userRepository.findByEmail("citizen@example.com"));
+        queries.put("users.findById", () -> userRepository.findById(reporter.getId()));
+        queries.put("users.findAll", () -> userRepository.findAll());
+        queries.put("issues.findById", () -> issueRepository.findById(issue.getId()));
+        queries.put("issues.findAll", () -> issueRepository.findAll());
+        queries.put("issues.findByReporter", () -> issueRepository.findByReporter(reporter));
+        queries.put("issues.findByStatus", () -> issueRepository.findByStatus(IssueStatus.OPEN));
+        queries.put("issues.findIdsResolvedBefore", () -> issueRepository.findIdsResolvedBefore(
+                IssueStatus.RESOLVED, LocalDateTime.now(), PageRequest.of(0, 100)));
+        queries.put("issues.findByAssigneeAndStatusNot", () -> issueRepository.findByAssigneeAndStatusNot(
+                reporter, IssueStatus.RESOLVED, PageRequest.of(0, 20, Sort.by("createdAt"))));
+        queries.put("issues.countOpenByAssignee", () -> issueRepository.countOpenByAssignee(IssueStatus.RESOLVED));
+        queries.put("issues.unassignAll", () -> issueRepository.unassignAll(reporter));
+        queries.put("users.findByRole", () -> userRepository.findByRole(Role.OFFICIAL));
+        queries.put("issues.deleteByReporter", () -> issueRepository.deleteByReporter(reporter));
+        queries.put("archive.findAll", () -> archivedIssueRepository.findAll(
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "resolvedAt"))));
+        queries.put("archive.deleteByReporter", () -> archivedIssueRepository.deleteByReporter(reporter));
+        queries.put("archive.unassignAll", () -> archivedIssueRepository.unassignAll(reporter));
+        queries.put("outbox.findDueIds", () -> outboxEventRepository.findDueIds(LocalDateTime.now(), 10, PageRequest.of(0, 100)));
+        queries.put("outbox.claim", () -> outboxEventRepository.claim(
+                List.of(1L, 2L), "token", LocalDateTime.now(), LocalDateTime.now().plusSeconds(60)));
+        queries.put("outbox.findByClaimToken", () -> outboxEventRepository.findByClaimTokenOrderByIdAsc("token"));
+        queries.put("outbox.deleteClaimed", () -> outboxEventRepository.deleteClaimed(List.of(1L, 2L), "token"));
+        queries.put("outbox.rescheduleClaimed", () -> outboxEventRepository.rescheduleClaimed(
+                1L, "token", 1, LocalDateTime.now(), "boom"));
+        queries.put("outbox.oldestPending", () -> outboxEventRepository.findFirstByAttemptsLessThanOrderByIdAsc(10));
+        queries.put("outbox.count", () -> outboxEventRepository.count());
+        queries.put("outbox.countDead", () -> outboxEventRepository.countByAttemptsGreaterThanEqual(10));
+
+        List<String> fullScans = new ArrayList<>();
+        for (Map.Entry<String, Runnable> query : queries.entrySet()) {
+            RecordingStatementInspector.STATEMENTS.clear();
+            query.getValue().run();
+            entityManager.flush();
+            entityManager.clear();
+
+            for (String sql : RecordingStatementInspector.STATEMENTS) {
+                if (!isTableAccess(sql)) {
+                    continue;
+                }
+                String plan = explain(sql);
+                if (plan.contains("tableScan") && !FULL_SCAN_ALLOWED.contains(query.getKey())) {
+                    fullScans.add(query.getKey() + " -> " + plan);
+                }
+            }
+        }
+
+        assertThat(fullScans).isEmpty();
+    }
+
+    // sequence calls and inserts have no plan worth checking
+    private static boolean isTableAccess(String sql) {
+        String lower = sql.trim().toLowerCase(Locale.ROOT);
+        boolean access = lower.startsWith("select") || lower.startsWith("update") || lower.startsWith("delete");
+        return access && !lower.contains("next value for") && !lower.contains("nextval");
+    }
+
+    private String explain(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            // the plan is fixed at prepare time, the values don't matter
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setNull(i, Types.NULL);
+            }
+
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append(' ');
+                }
+            }
+            return plan.toString().replaceAll("\\s+", " ").trim();
+        }
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.securitydemo.civicflowbackend.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.securitydemo.civicflowbackend.entities.Issue;
+import com.securitydemo.civicflowbackend.entities.IssueStatus;
+import com.securitydemo.civicflowbackend.entities.Role;
+import com.securitydemo.civicflowbackend.entities.User;
+import com.securitydemo.civicflowbackend.repositories.IssueRepository;
+import com.securitydemo.civicflowbackend.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/*
+Roads covers [lng, lat] 0..10 x 0..10, Parks covers 20..30 x 0..10.
+Officials 1 and 2 work for Roads (department spelled differently), 3 for Parks.
+*/
+class AssignmentEngineTest {
+
+    private static final String ZONES = """
+            {"type": "FeatureCollection", "features": [
+              {"type": "Feature", "properties": {"department": "Roads"},
+               "geometry": {"type": "Polygon", "coordinates": [[[0, 0], [10, 0], [10, 10], [0, 10], [0, 0]]]}},
+              {"type": "Feature", "properties": {"department": "Parks"},
+               "geometry": {"type": "Polygon", "coordinates": [[[20, 0], [30, 0], [30, 10], [20, 10], [20, 0]]]}}
+            ]}
+            """;
+
+    private UserRepository userRepository;
+
+    private IssueRepository issueRepository;
+
+    private AssignmentEngine engine;
+
+    // [official id, open issues], what countOpenByAssignee returns on the next resync
+    private final List<Object[]> openCounts = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        issueRepository = mock(IssueRepository.class);
+
+        when(userRepository.findByRole(Role.OFFICIAL)).thenReturn(List.of(
+                official(1L, "Roads"), official(2L, " roads "), official(3L, "Parks"), official(4L, null)));
+        when(issueRepository.countOpenByAssignee(IssueStatus.RESOLVED)).thenAnswer(invocation -> openCounts);
+        when(userRepository.getReferenceById(anyLong())).thenAnswer(invocation -> {
+            User reference = new User();
+            reference.setId(invocation.getArgument(0));
+            return reference;
+        });
+
+        engine = new AssignmentEngine(userRepository, issueRepository, new ObjectMapper());
+        ReflectionTestUtils.setField(engine, "zonesResource", new ByteArrayResource(ZONES.getBytes(StandardCharsets.UTF_8)));
+        ReflectionTestUtils.setField(engine, "defaultDepartment", "");
+    }
+
+    @Test
+    void issueGoesToTheLeastLoadedOfficialOfItsZone() {
+        openCounts.add(new Object[]{1L, 5L});
+        openCounts.add(new Object[]{2L, 2L});
+        engine.start();
+
+        Issue issue = assign(5, 5);
+
+        assertThat(issue.getDepartment()).isEqualTo("Roads");
+        assertThat(issue.getAssignee().getId()).isEqualTo(2L);
+    }
+
+    @Test
+    void everyAssignmentCountsTowardsTheNextChoice() {
+        openCounts.add(new Object[]{1L, 3L});
+        openCounts.add(new Object[]{2L, 2L});
+        engine.start();
+
+        // 3/2 -> 2, 3/3 -> first in roster, 4/3 -> 2
+        assertThat(assign(5, 5).getAssignee().getId()).isEqualTo(2L);
+        assertThat(assign(5, 5).getAssignee().getId()).isEqualTo(1L);
+        assertThat(assign(5, 5).getAssignee().getId()).isEqualTo(2L);
+    }
+
+    @Test
+    void resyncReplacesTheCountersWithTheDatabaseState() {
+        engine.start();
+        assign(5, 5);
+        assign(5, 5);
+
+        // meanwhile official 1 resolved everything, official 2 got busy elsewhere
+        openCounts.add(new Object[]{2L, 10L});
+        engine.resync();
+
+        assertThat(assign(5, 5).getAssignee().getId()).isEqualTo(1L);
+    }
+
+    @Test
+    void newOfficialStartsWithAnEmptyQueue() {
+        openCounts.add(new Object[]{1L, 1L});
+        openCounts.add(new Object[]{2L, 1L});
+        engine.start();
+
+        engine.addOfficial(official(5L, "ROADS"));
+
+        assertThat(assign(5, 5).getAssignee().getId()).isEqualTo(5L);
+    }
+
+    @Test
+    void onlyOfficialsWithADepartmentJoinTheRoster() {
+        engine.start();
+        User citizen = official(6L, "Parks");
+        citizen.setRole(Role.CITIZEN);
+        openCounts.add(new Object[]{3L, 7L});
+        engine.resync();
+
+        engine.addOfficial(citizen);
+        engine.addOfficial(official(7L, " "));
+
+        assertThat(assign(5, 25).getAssignee().getId()).isEqualTo(3L);
+    }
+
+    @Test
+    void removedOfficialGetsNoMoreIssues() {
+        engine.start();
+
+        engine.removeOfficial(1L);
+        assertThat(assign(5, 5).getAssignee().getId()).isEqualTo(2L);
+        assertThat(assign(5, 5).getAssignee().getId()).isEqualTo(2L);
+
+        engine.removeOfficial(2L);
+        Issue unassigned = assign(5, 5);
+        assertThat(unassigned.getDepartment()).isEqualTo("Roads");
+        assertThat(unassigned.getAssignee()).isNull();
+    }
+
+    @Test
+    void issuesOutsideEveryZoneUseTheDefaultDepartment() {
+        engine.start();
+        Issue nowhere = assign(50, 50);
+        assertThat(nowhere.getDepartment()).isNull();
+        assertThat(nowhere.getAssignee()).isNull();
+
+        ReflectionTestUtils.setField(engine, "defaultDepartment", "Parks");
+        Issue fallback = assign(50, 50);
+        assertThat(fallback.getDepartment()).isEqualTo("Parks");
+        assertThat(fallback.getAssignee().getId()).isEqualTo(3L);
+    }
+
+    private Issue assign(double lat, double lng) {
+        Issue issue = new Issue();
+        issue.setLatitude(lat);
+        issue.setLongitude(lng);
+        engine.assign(issue);
+        return issue;
+    }
+
+    private static User official(Long id, String department) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail("official" + id + "@example.com");
+        user.setRole(Role.OFFICIAL);
+        user.setDepartment(department);
+        return user;
+    }
+}
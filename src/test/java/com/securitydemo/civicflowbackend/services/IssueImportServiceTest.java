@@ -0,0 +1,260 @@
+package com.securitydemo.civicflowbackend.services;
+
+import com.securitydemo.civicflowbackend.configs.JpaBatchingConfig;
+import com.securitydemo.civicflowbackend.dtos.ImportReport;
+import com.securitydemo.civicflowbackend.entities.Issue;
+import com.securitydemo.civicflowbackend.entities.IssueStatus;
+import com.securitydemo.civicflowbackend.entities.Role;
+import com.securitydemo.civicflowbackend.entities.User;
+import com.securitydemo.civicflowbackend.repositories.IssueRepository;
+import com.securitydemo.civicflowbackend.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.ConfigurableTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/*
+Imports run against H2 (schema from the flyway migrations). Not transactional:
+the import commits its own chunks and reads reporters from a second thread.
+*/
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:issueimport;MODE=Oracle;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "app.import.chunk-size=500"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({IssueImportService.class, JpaBatchingConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IssueImportServiceTest {
+
+    private static final String HEADER = "title,description,latitude,longitude,reporterEmail,status,createdAt\n";
+
+    @Autowired
+    private IssueImportService importService;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void createReporter() {
+        User reporter = new User();
+        reporter.setEmail("citizen@example.com");
+        reporter.setPassword("secret");
+        reporter.setRole(Role.CITIZEN);
+        userRepository.save(reporter);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        issueRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void requestPersistenceContextIsEmptyBetweenChunks() {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 1; i <= 3000; i++) {
+            csv.append("Pothole ").append(i).append(",Deep pothole,12.97,77.59,citizen@example.com,,\n");
+        }
+
+        // what open-in-view does for a request: one EntityManager bound for all chunks
+        EntityManager requestEntityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(requestEntityManager));
+
+        Thread writer = Thread.currentThread();
+        List<Integer> managedAtChunkStart = new CopyOnWriteArrayList<>();
+        TransactionExecutionListener listener = new TransactionExecutionListener() {
+            @Override
+            public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+                // the parser thread's reporter lookups have their own transactions
+                if (Thread.currentThread() == writer) {
+                    managedAtChunkStart.add(requestEntityManager.unwrap(Session.class).getStatistics().getEntityCount());
+                }
+            }
+        };
+        ConfigurableTransactionManager listenable = (ConfigurableTransactionManager) transactionManager;
+        listenable.addListener(listener);
+
+        ImportReport report;
+        int managedAfterImport;
+        try {
+            report = importService.importIssues(csvFile(csv.toString()), null);
+            managedAfterImport = requestEntityManager.unwrap(Session.class).getStatistics().getEntityCount();
+        } finally {
+            listenable.getTransactionExecutionListeners().remove(listener);
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            requestEntityManager.close();
+        }
+
+        assertThat(report.getImported()).isEqualTo(3000);
+        assertThat(report.getFailed()).isZero();
+        assertThat(managedAtChunkStart).hasSize(6).containsOnly(0);
+        assertThat(managedAfterImport).isZero();
+        assertThat(issueRepository.count()).isEqualTo(3000);
+    }
+
+    @Test
+    void csvQuotingBomCrlfAndBlankLines() {
+        String csv = "\uFEFFTitle,Description,Lat,Lng,Reporter Email,Status,Created At\r\n"
+                + "\"Pothole, deep\",\"Two lines\r\nof text\",12.97,77.59,citizen@example.com,resolved,2019-05-01\r\n"
+                + "\r\n"
+                + "\"Broken \"\"smart\"\" light\",Dark street,12.5,77.1,citizen@example.com,,2019-05-01T10:15:00Z\r\n"
+                + "\r\n";
+
+        ImportReport report = importService.importIssues(csvFile(csv), null);
+
+        assertThat(report.getErrors()).isEmpty();
+        assertThat(report.getTotalRows()).isEqualTo(2);
+        assertThat(report.getImported()).isEqualTo(2);
+
+        List<Issue> issues = issueRepository.findAll(Sort.by("title"));
+        Issue light = issues.get(0);
+        assertThat(light.getTitle()).isEqualTo("Broken \"smart\" light");
+        assertThat(light.getStatus()).isEqualTo(IssueStatus.OPEN);
+        assertThat(light.getCreatedAt()).isEqualTo(LocalDateTime.of(2019, 5, 1, 10, 15));
+
+        Issue pothole = issues.get(1);
+        assertThat(pothole.getTitle()).isEqualTo("Pothole, deep");
+        assertThat(pothole.getDescription()).isEqualTo("Two lines\r\nof text");
+        assertThat(pothole.getLatitude()).isEqualTo(12.97);
+        assertThat(pothole.getLongitude()).isEqualTo(77.59);
+        assertThat(pothole.getStatus()).isEqualTo(IssueStatus.RESOLVED);
+        assertThat(pothole.getResolvedAt()).isEqualTo(LocalDateTime.of(2019, 5, 1, 0, 0));
+    }
+
+    @Test
+    void quotesInsideUnquotedFieldsAreText() {
+        String csv = HEADER
+                + "Burst pipe,12\" pipe burst,12.97,77.59,citizen@example.com,,\n"
+                + "Sign,Says \"stop\" twice,12.5,77.1,citizen@example.com,,\n";
+
+        ImportReport report = importService.importIssues(csvFile(csv), null);
+
+        assertThat(report.getErrors()).isEmpty();
+        assertThat(issueRepository.findAll(Sort.by("title")))
+                .extracting(Issue::getDescription, Issue::getLatitude)
+                .containsExactly(
+                        tuple("12\" pipe burst", 12.97),
+                        tuple("Says \"stop\" twice", 12.5));
+    }
+
+    @Test
+    void geoJsonPointsAreLongitudeThenLatitude() {
+        String geoJson = """
+                {"type": "FeatureCollection", "name": "legacy", "features": [
+                  {"type": "Feature",
+                   "geometry": {"type": "Point", "coordinates": [77.59, 12.97]},
+                   "properties": {"title": "Pothole", "description": "Deep", "reporter_email": "citizen@example.com"}}
+                ]}
+                """;
+        MockMultipartFile file = new MockMultipartFile("file", "issues.geojson", "application/geo+json",
+                geoJson.getBytes(StandardCharsets.UTF_8));
+
+        ImportReport report = importService.importIssues(file, null);
+
+        assertThat(report.getErrors()).isEmpty();
+        Issue issue = issueRepository.findAll().get(0);
+        assertThat(issue.getLatitude()).isEqualTo(12.97);
+        assertThat(issue.getLongitude()).isEqualTo(77.59);
+    }
+
+    @Test
+    void badRowsAreReportedAndTheRestIsImported() {
+        String csv = HEADER
+                + "Pothole,Deep,12.97,77.59,citizen@example.com,,\n"
+                + ",No title,12.97,77.59,citizen@example.com,,\n"
+                + "Pothole,Off the map,95,77.59,citizen@example.com,,\n"
+                + "Pothole,Who,12.97,77.59,nobody@example.com,,\n"
+                + "Pothole,Odd status,12.97,77.59,citizen@example.com,FIXED,\n"
+                + "Pothole,Odd date,12.97,77.59,citizen@example.com,,01/05/2019\n"
+                + "Pothole," + "é".repeat(128) + ",12.97,77.59,citizen@example.com,,\n";
+
+        ImportReport report = importService.importIssues(csvFile(csv), null);
+
+        assertThat(report.getTotalRows()).isEqualTo(7);
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getFailed()).isEqualTo(6);
+        assertThat(report.getErrors())
+                .extracting(ImportReport.RowError::getRow, ImportReport.RowError::getMessage)
+                .containsExactly(
+                        tuple(2L, "title is required"),
+                        tuple(3L, "latitude is out of range: 95"),
+                        tuple(4L, "Unknown reporter: nobody@example.com"),
+                        tuple(5L, "Unknown status: FIXED"),
+                        tuple(6L, "Invalid date: 01/05/2019"),
+                        // 128 characters, 256 bytes
+                        tuple(7L, "description is longer than 255 bytes"));
+        assertThat(issueRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void rowRejectedByTheDatabaseFailsAloneAndTheRestOfItsChunkIsImported() {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 1; i <= 10; i++) {
+            String title = i == 7 ? "Rejected" : "Pothole " + i;
+            csv.append(title).append(",Deep pothole,12.97,77.59,citizen@example.com,,\n");
+        }
+
+        // passes validation, only the database knows it is bad
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("ALTER TABLE issues ADD CONSTRAINT ck_test_rejected CHECK (title <> 'Rejected')");
+        ImportReport report;
+        try {
+            report = importService.importIssues(csvFile(csv.toString()), null);
+        } finally {
+            jdbc.execute("ALTER TABLE issues DROP CONSTRAINT ck_test_rejected");
+        }
+
+        assertThat(report.getImported()).isEqualTo(9);
+        assertThat(report.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getRow()).isEqualTo(7L);
+            assertThat(error.getMessage()).startsWith("Write failed: ");
+        });
+        assertThat(issueRepository.count()).isEqualTo(9);
+    }
+
+    private static MockMultipartFile csvFile(String content) {
+        return new MockMultipartFile("file", "issues.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
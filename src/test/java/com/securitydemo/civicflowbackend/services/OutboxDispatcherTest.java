@@ -0,0 +1,172 @@
+package com.securitydemo.civicflowbackend.services;
+
+import com.securitydemo.civicflowbackend.dtos.OutboxStats;
+import com.securitydemo.civicflowbackend.entities.IssueEventType;
+import com.securitydemo.civicflowbackend.entities.IssueStatus;
+import com.securitydemo.civicflowbackend.entities.OutboxEvent;
+import com.securitydemo.civicflowbackend.repositories.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/*
+Dispatcher against H2 (schema from the flyway migrations). Not transactional:
+poll and settle commit their own transactions.
+*/
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outboxdispatch;MODE=Oracle;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({OutboxDispatcher.class, OutboxDispatcherTest.HandlerConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxDispatcherTest {
+
+    @Autowired
+    private OutboxDispatcher dispatcher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private RecordingHandler handler;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @AfterEach
+    void cleanUp() {
+        outboxEventRepository.deleteAllInBatch();
+        handler.reset();
+    }
+
+    @Test
+    void failedDeliveryIsRetriedWithBackoffUntilItSucceeds() {
+        Long id = outboxEventRepository.save(dueEvent()).getId();
+        handler.failuresLeft.set(2);
+        OutboxStats before = dispatcher.getStats();
+
+        dispatcher.dispatch();
+        OutboxEvent first = outboxEventRepository.findById(id).orElseThrow();
+        assertThat(first.getAttempts()).isEqualTo(1);
+        assertThat(first.getLastError()).isEqualTo("IllegalStateException: handler down");
+        assertThat(first.getClaimToken()).isNull();
+        assertThat(first.getNextAttemptAt()).isCloseTo(LocalDateTime.now().plusSeconds(2), within(1, ChronoUnit.SECONDS));
+
+        // backoff not over yet, nothing is delivered
+        dispatcher.dispatch();
+        assertThat(handler.calls.get()).isEqualTo(1);
+
+        makeDue(id);
+        dispatcher.dispatch();
+        OutboxEvent second = outboxEventRepository.findById(id).orElseThrow();
+        assertThat(second.getAttempts()).isEqualTo(2);
+        assertThat(second.getNextAttemptAt()).isCloseTo(LocalDateTime.now().plusSeconds(4), within(1, ChronoUnit.SECONDS));
+
+        makeDue(id);
+        dispatcher.dispatch();
+        assertThat(outboxEventRepository.findById(id)).isEmpty();
+        assertThat(handler.calls.get()).isEqualTo(3);
+        OutboxStats after = dispatcher.getStats();
+        assertThat(after.getDelivered() - before.getDelivered()).isEqualTo(1);
+        assertThat(after.getFailedAttempts() - before.getFailedAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    void eventsClaimedByAnotherInstanceAreSkipped() {
+        OutboxEvent claimed = dueEvent();
+        claimed.setClaimToken("other-instance");
+        claimed.setNextAttemptAt(LocalDateTime.now().plusSeconds(60));
+        Long id = outboxEventRepository.save(claimed).getId();
+
+        dispatcher.dispatch();
+
+        assertThat(handler.calls.get()).isZero();
+        assertThat(outboxEventRepository.findById(id).orElseThrow().getClaimToken()).isEqualTo("other-instance");
+    }
+
+    @Test
+    void rowsReclaimedDuringDeliveryAreLeftToTheNewOwner() {
+        Long id = outboxEventRepository.save(dueEvent()).getId();
+        // lease ran out mid delivery and another instance claimed the event again
+        handler.onHandle = event -> new JdbcTemplate(dataSource)
+                .update("UPDATE outbox_events SET claim_token = 'other-instance' WHERE id = ?", event.getId());
+
+        long deliveredBefore = dispatcher.getStats().getDelivered();
+
+        dispatcher.dispatch();
+
+        OutboxEvent event = outboxEventRepository.findById(id).orElseThrow();
+        assertThat(event.getClaimToken()).isEqualTo("other-instance");
+        assertThat(dispatcher.getStats().getDelivered()).isEqualTo(deliveredBefore);
+        assertThat(event.getAttempts()).isZero();
+    }
+
+    private static OutboxEvent dueEvent() {
+        OutboxEvent event = new OutboxEvent();
+        event.setEventType(IssueEventType.ISSUE_STATUS_CHANGED);
+        event.setIssueId(42L);
+        event.setStatus(IssueStatus.RESOLVED);
+        event.setPreviousStatus(IssueStatus.IN_PROGRESS);
+        event.setCreatedAt(LocalDateTime.now());
+        event.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        return event;
+    }
+
+    private void makeDue(Long id) {
+        new JdbcTemplate(dataSource).update("UPDATE outbox_events SET next_attempt_at = ? WHERE id = ?",
+                LocalDateTime.now().minusSeconds(1), id);
+    }
+
+    static class RecordingHandler implements IssueEventHandler {
+
+        final AtomicInteger calls = new AtomicInteger();
+
+        final AtomicInteger failuresLeft = new AtomicInteger();
+
+        volatile Consumer<OutboxEvent> onHandle = event -> {
+        };
+
+        @Override
+        public void handle(OutboxEvent event) {
+            calls.incrementAndGet();
+            onHandle.accept(event);
+            if (failuresLeft.getAndDecrement() > 0) {
+                throw new IllegalStateException("handler down");
+            }
+        }
+
+        void reset() {
+            calls.set(0);
+            failuresLeft.set(0);
+            onHandle = event -> {
+            };
+        }
+    }
+
+    @TestConfiguration
+    static class HandlerConfig {
+
+        @Bean
+        RecordingHandler recordingHandler() {
+            return new RecordingHandler();
+        }
+    }
+}
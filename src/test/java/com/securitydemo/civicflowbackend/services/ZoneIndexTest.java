@@ -0,0 +1,108 @@
+package com.securitydemo.civicflowbackend.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+Zone map used by most tests, coordinates are [lng, lat]:
+
+  north  square 0..10 x 0..10 with a hole 4..6 x 4..6
+  east   triangle (10,0) (20,0) (10,10), its bounding box shares grid cells with empty space
+  south  MultiPolygon: 20..22 x 0..2 and 30..32 x 8..10, the second part touches the
+         far corner of the grid
+*/
+class ZoneIndexTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ZoneIndex index = index("""
+            {"type": "FeatureCollection", "features": [
+              {"type": "Feature", "properties": {"department": "North"},
+               "geometry": {"type": "Polygon", "coordinates": [
+                 [[0, 0], [10, 0], [10, 10], [0, 10], [0, 0]],
+                 [[4, 4], [6, 4], [6, 6], [4, 6], [4, 4]]]}},
+              {"type": "Feature", "properties": {"department": "East"},
+               "geometry": {"type": "Polygon", "coordinates": [
+                 [[10, 0], [20, 0], [10, 10], [10, 0]]]}},
+              {"type": "Feature", "properties": {"department": "South"},
+               "geometry": {"type": "MultiPolygon", "coordinates": [
+                 [[[20, 0], [22, 0], [22, 2], [20, 2], [20, 0]]],
+                 [[[30, 8], [32, 8], [32, 10], [30, 10], [30, 8]]]]}}
+            ]}
+            """);
+
+    @Test
+    void pointInsideOuterRingIsFound() {
+        assertThat(index.departmentAt(2, 2)).isEqualTo("North");
+        assertThat(index.departmentAt(9.5, 0.5)).isEqualTo("North");
+    }
+
+    @Test
+    void pointInsideHoleIsNotInTheZone() {
+        assertThat(index.departmentAt(5, 5)).isNull();
+        assertThat(index.departmentAt(5, 3.9)).isEqualTo("North");
+    }
+
+    @Test
+    void candidatesFromTheSameCellAreCheckedExactly() {
+        assertThat(index.departmentAt(1, 11)).isEqualTo("East");
+        // inside the triangle's bounding box, outside the triangle
+        assertThat(index.departmentAt(8, 18)).isNull();
+    }
+
+    @Test
+    void everyPartOfAMultiPolygonBelongsToTheDepartment() {
+        assertThat(index.departmentAt(1, 21)).isEqualTo("South");
+        assertThat(index.departmentAt(9, 31)).isEqualTo("South");
+        assertThat(index.departmentAt(5, 26)).isNull();
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void pointsOnTheGridEdgeAreClampedIntoTheLastCell() {
+        assertThat(index.departmentAt(9.999, 31.999)).isEqualTo("South");
+        assertThatCode(() -> index.departmentAt(10, 32)).doesNotThrowAnyException();
+        assertThatCode(() -> index.departmentAt(0, 0)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void pointsOutsideTheMapHaveNoDepartment() {
+        assertThat(index.departmentAt(-1, 5)).isNull();
+        assertThat(index.departmentAt(5, 40)).isNull();
+        assertThat(ZoneIndex.empty().departmentAt(5, 5)).isNull();
+    }
+
+    @Test
+    void featuresWithoutDepartmentOrArea() {
+        ZoneIndex points = index("""
+                {"type": "FeatureCollection", "features": [
+                  {"type": "Feature", "properties": {"department": "Roads"},
+                   "geometry": {"type": "Point", "coordinates": [1, 1]}},
+                  {"type": "Feature", "properties": {},
+                   "geometry": {"type": "Polygon", "coordinates": [[[0, 0], [1, 0], [1, 1], [0, 0]]]}}
+                ]}
+                """);
+        assertThat(points.size()).isZero();
+
+        assertThatThrownBy(() -> index("""
+                {"type": "FeatureCollection", "features": [
+                  {"type": "Feature", "properties": {"department": "Roads"},
+                   "geometry": {"type": "Polygon", "coordinates": [[[0, 0], [1, 1]]]}}
+                ]}
+                """)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ZoneIndex index(String geoJson) {
+        try {
+            return ZoneIndex.fromGeoJson(MAPPER.readTree(geoJson));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}